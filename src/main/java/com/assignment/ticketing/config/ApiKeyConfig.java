@@ -1,5 +1,7 @@
 package com.assignment.ticketing.config;
 
+import java.time.Duration;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -14,4 +16,10 @@ public class ApiKeyConfig {
 
     @Value("${api.key.agent}")
     private String agent;
-}
\ No newline at end of file
+
+    @Value("${api.key.file:}")
+    private String file;
+
+    @Value("${api.key.reload-interval:PT10S}")
+    private Duration reloadInterval;
+}
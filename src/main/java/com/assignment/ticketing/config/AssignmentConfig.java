@@ -0,0 +1,16 @@
+package com.assignment.ticketing.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+
+@Getter
+@Component
+public class AssignmentConfig {
+
+    @Value("${ticketing.assignment.agents:}")
+    private List<String> agents;
+}
@@ -0,0 +1,20 @@
+package com.assignment.ticketing.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+
+@Getter
+@Component
+public class ImportConfig {
+
+    @Value("${ticketing.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${ticketing.import.parallelism:0}")
+    private int parallelism;
+
+    @Value("${ticketing.import.queue-capacity:16}")
+    private int queueCapacity;
+}
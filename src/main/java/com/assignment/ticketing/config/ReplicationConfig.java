@@ -0,0 +1,42 @@
+package com.assignment.ticketing.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+
+@Getter
+@Component
+public class ReplicationConfig {
+
+    @Value("${ticketing.replication.role:none}")
+    private String role;
+
+    @Value("${ticketing.replication.port:7070}")
+    private int port;
+
+    // Interface the leader listens on; anything but loopback requires a token.
+    @Value("${ticketing.replication.bind-address:localhost}")
+    private String bindAddress;
+
+    // Shared secret a follower presents when it subscribes; empty disables the check.
+    @Value("${ticketing.replication.token:}")
+    private String token;
+
+    @Value("${ticketing.replication.leader-host:localhost}")
+    private String leaderHost;
+
+    @Value("${ticketing.replication.leader-port:7070}")
+    private int leaderPort;
+
+    @Value("${ticketing.replication.batch-size:512}")
+    private int batchSize;
+
+    @Value("${ticketing.replication.log-capacity:100000}")
+    private int logCapacity;
+
+    @Value("${ticketing.replication.heartbeat:PT1S}")
+    private Duration heartbeat;
+}
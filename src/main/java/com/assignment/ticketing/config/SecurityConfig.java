@@ -33,6 +33,8 @@ public class SecurityConfig {
                                                                 "/webjars/**")
                                                 .permitAll()
                                                 .requestMatchers("/api/tickets/*/status").hasRole("AGENT")
+                                                .requestMatchers("/api/agents/**").hasRole("AGENT")
+                                                .requestMatchers("/api/import/**").hasRole("AGENT")
                                                 .anyRequest().authenticated())
                                 .addFilterBefore(apiKeyAuthFilter, UsernamePasswordAuthenticationFilter.class)
                                 .build();
@@ -0,0 +1,25 @@
+package com.assignment.ticketing.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+
+@Getter
+@Component
+public class SlaConfig {
+
+    @Value("${ticketing.sla.open:PT4H}")
+    private Duration open;
+
+    @Value("${ticketing.sla.in-progress:PT24H}")
+    private Duration inProgress;
+
+    @Value("${ticketing.sla.tick:PT1S}")
+    private Duration tick;
+
+    @Value("${ticketing.sla.wheel-size:512}")
+    private int wheelSize;
+}
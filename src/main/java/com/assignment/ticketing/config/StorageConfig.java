@@ -0,0 +1,20 @@
+package com.assignment.ticketing.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+
+@Getter
+@Component
+public class StorageConfig {
+
+    @Value("${ticketing.storage.engine:concurrent}")
+    private String engine;
+
+    @Value("${ticketing.storage.queue-capacity:65536}")
+    private int queueCapacity;
+
+    @Value("${ticketing.storage.max-batch:256}")
+    private int maxBatch;
+}
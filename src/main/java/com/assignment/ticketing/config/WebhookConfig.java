@@ -0,0 +1,44 @@
+package com.assignment.ticketing.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+
+@Getter
+@Component
+public class WebhookConfig {
+
+    @Value("${ticketing.webhooks.endpoints:}")
+    private List<String> endpoints;
+
+    @Value("${ticketing.webhooks.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${ticketing.webhooks.batch-size:100}")
+    private int batchSize;
+
+    @Value("${ticketing.webhooks.max-delay:PT1S}")
+    private Duration maxDelay;
+
+    @Value("${ticketing.webhooks.max-pending:10000}")
+    private int maxPending;
+
+    @Value("${ticketing.webhooks.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${ticketing.webhooks.initial-backoff:PT1S}")
+    private Duration initialBackoff;
+
+    @Value("${ticketing.webhooks.max-backoff:PT1M}")
+    private Duration maxBackoff;
+
+    @Value("${ticketing.webhooks.request-timeout:PT10S}")
+    private Duration requestTimeout;
+
+    @Value("${ticketing.webhooks.dead-letter-file:webhooks-dead-letter.ndjson}")
+    private String deadLetterFile;
+}
@@ -0,0 +1,35 @@
+package com.assignment.ticketing.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assignment.ticketing.model.dto.response.AgentLoadResponse;
+import com.assignment.ticketing.service.AssignmentService;
+
+@RestController
+@RequestMapping("/api/agents")
+public class AgentController {
+
+    private final AssignmentService assignmentService;
+
+    public AgentController(AssignmentService assignmentService) {
+        this.assignmentService = assignmentService;
+    }
+
+    /*
+     * Retrieves the number of active tickets assigned to each agent.
+     */
+    @GetMapping("/load")
+    public ResponseEntity<List<AgentLoadResponse>> getAgentLoads() {
+        List<AgentLoadResponse> loads = assignmentService.getLoads()
+                .stream()
+                .map(load -> new AgentLoadResponse(load.agentId(), load.activeTickets()))
+                .toList();
+
+        return ResponseEntity.ok(loads);
+    }
+}
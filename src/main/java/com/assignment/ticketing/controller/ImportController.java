@@ -0,0 +1,45 @@
+package com.assignment.ticketing.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assignment.ticketing.importer.ImportFormat;
+import com.assignment.ticketing.importer.ImportResult;
+import com.assignment.ticketing.importer.TicketImporter;
+import com.assignment.ticketing.model.dto.response.ImportResponse;
+
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+    private final TicketImporter ticketImporter;
+
+    public ImportController(TicketImporter ticketImporter) {
+        this.ticketImporter = ticketImporter;
+    }
+
+    /*
+     * Imports tickets from newline-delimited JSON, one ticket per line. The body is streamed, not buffered.
+     */
+    @PostMapping(value = "/tickets", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportResponse> importNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(toResponse(ticketImporter.importTickets(body, ImportFormat.NDJSON)));
+    }
+
+    /*
+     * Imports tickets from CSV with a header row. The body is streamed, not buffered.
+     */
+    @PostMapping(value = "/tickets", consumes = "text/csv")
+    public ResponseEntity<ImportResponse> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(toResponse(ticketImporter.importTickets(body, ImportFormat.CSV)));
+    }
+
+    private ImportResponse toResponse(ImportResult result) {
+        return new ImportResponse(result.imported(), result.failed(), result.errors(), result.elapsedMillis());
+    }
+}
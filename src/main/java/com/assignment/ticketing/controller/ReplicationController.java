@@ -0,0 +1,42 @@
+package com.assignment.ticketing.controller;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.assignment.ticketing.model.dto.response.ReplicationStatusResponse;
+import com.assignment.ticketing.replication.ReplicationFollower;
+import com.assignment.ticketing.replication.ReplicationLeader;
+import com.assignment.ticketing.replication.ReplicationStatus;
+
+@RestController
+@RequestMapping("/api/replication")
+public class ReplicationController {
+
+    private final ObjectProvider<ReplicationLeader> replicationLeader;
+    private final ObjectProvider<ReplicationFollower> replicationFollower;
+
+    public ReplicationController(ObjectProvider<ReplicationLeader> replicationLeader,
+            ObjectProvider<ReplicationFollower> replicationFollower) {
+        this.replicationLeader = replicationLeader;
+        this.replicationFollower = replicationFollower;
+    }
+
+    /*
+     * Retrieves the replication role of this node and, on followers, the replication lag.
+     */
+    @GetMapping("/status")
+    public ResponseEntity<ReplicationStatusResponse> getStatus() {
+        ReplicationLeader leader = replicationLeader.getIfAvailable();
+        ReplicationFollower follower = replicationFollower.getIfAvailable();
+        ReplicationStatus status = leader != null ? leader.status()
+                : follower != null ? follower.status()
+                : ReplicationStatus.standalone();
+
+        return ResponseEntity.ok(new ReplicationStatusResponse(status.role(), status.connected(),
+                status.appliedSequence(), status.leaderSequence(), status.lagEntries(), status.lagMillis(),
+                status.followers()));
+    }
+}
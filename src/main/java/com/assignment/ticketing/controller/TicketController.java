@@ -1,13 +1,18 @@
 package com.assignment.ticketing.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -18,11 +23,20 @@ import com.assignment.ticketing.model.dto.request.AddCommentRequest;
 import com.assignment.ticketing.model.dto.request.CreateTicketRequest;
 import com.assignment.ticketing.model.dto.request.UpdateTicketStatusRequest;
 import com.assignment.ticketing.model.dto.response.TicketResponse;
+import com.assignment.ticketing.model.enums.TicketSortField;
 import com.assignment.ticketing.model.enums.TicketStatus;
 import com.assignment.ticketing.model.mapper.CommentMapper;
 import com.assignment.ticketing.model.mapper.TicketMapper;
+import com.assignment.ticketing.repository.TicketQuery;
+import com.assignment.ticketing.service.TicketListCoalescer;
 import com.assignment.ticketing.service.TicketService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -32,11 +46,16 @@ public class TicketController {
     private final TicketService ticketService;
     private final TicketMapper ticketMapper;
     private final CommentMapper commentMapper;
+    private final TicketListCoalescer ticketListCoalescer;
+    private final ObjectMapper objectMapper;
 
-    public TicketController(TicketService ticketService, TicketMapper ticketMapper, CommentMapper commentMapper) {
+    public TicketController(TicketService ticketService, TicketMapper ticketMapper, CommentMapper commentMapper,
+            TicketListCoalescer ticketListCoalescer, ObjectMapper objectMapper) {
         this.ticketService = ticketService;
         this.ticketMapper = ticketMapper;
         this.commentMapper = commentMapper;
+        this.ticketListCoalescer = ticketListCoalescer;
+        this.objectMapper = objectMapper;
     }
 
     /*
@@ -46,38 +65,59 @@ public class TicketController {
     public ResponseEntity<TicketResponse> createTicket(@Valid @RequestBody CreateTicketRequest createTicketRequest) {
         Ticket ticket = ticketMapper.toTicket(createTicketRequest);
         Ticket created = ticketService.createTicket(ticket);
-        return ResponseEntity.status(201).body(ticketMapper.toTicketResponse(created));
+        return ResponseEntity.status(201)
+                .eTag(String.valueOf(created.getVersion()))
+                .body(ticketMapper.toTicketResponse(created));
 
     }
 
     /*
      * Retrieves a list of tickets based on optional filters.
+     * Timestamps are ISO-8601 local date-times; sort is createdAt or updatedAt, direction asc (default) or desc.
+     * Identical listings requested concurrently by the same role are computed and serialized once;
+     * the body is returned as those bytes, so its schema is declared for the API docs.
      */
-    @GetMapping
-    public ResponseEntity<List<TicketResponse>> getTickets(
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = TicketResponse.class))))
+    public ResponseEntity<byte[]> getTickets(
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String userId,
-            @RequestParam(required = false) String assigneeId) {
-
-        List<TicketResponse> tickets = ticketService.getTickets(status, userId, assigneeId)
+            @RequestParam(required = false) String assigneeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit) {
+
+        TicketQuery query = new TicketQuery(status, userId, assigneeId, createdAfter, createdBefore, updatedSince,
+                TicketSortField.fromParam(sort), isDescending(direction), limit);
+        byte[] tickets = ticketListCoalescer.execute(query, () -> toJson(ticketService.getTickets(query)
                 .stream()
                 .map(ticketMapper::toTicketResponse)
-                .toList();
+                .toList()));
 
-        return ResponseEntity.ok(tickets);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(tickets);
 
     }
 
     /*
-     * Retrieves a ticket by its ID.
+     * Updates the status of a ticket.
+     * An optional If-Match header holding the ticket version turns stale updates into 412 responses.
      */
     @PatchMapping("/{id}/status")
     public ResponseEntity<TicketResponse> updateTicketStatus(@PathVariable("id") Long ticketId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateTicketStatusRequest updateTicketStatusRequest) {
         TicketStatus newStatus = updateTicketStatusRequest.status();
 
-        return ticketService.updateTicketStatus(ticketId, newStatus)
-                .map(ticket -> ResponseEntity.ok(ticketMapper.toTicketResponse(ticket)))
+        return ticketService.updateTicketStatus(ticketId, newStatus, parseVersion(ifMatch))
+                .map(ticket -> ResponseEntity.ok()
+                        .eTag(String.valueOf(ticket.getVersion()))
+                        .body(ticketMapper.toTicketResponse(ticket)))
                 .orElse(ResponseEntity.notFound().build());
 
     }
@@ -97,4 +137,41 @@ public class TicketController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    private byte[] toJson(List<TicketResponse> tickets) {
+        try {
+            return objectMapper.writeValueAsBytes(tickets);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize tickets", e);
+        }
+    }
+
+    private boolean isDescending(String direction) {
+        if (direction == null || direction.isBlank() || direction.trim().equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (direction.trim().equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Invalid direction: " + direction + " (expected asc or desc)");
+    }
+
+    /*
+     * Extracts the ticket version from an If-Match header such as "3" or W/"3".
+     */
+    private Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String version = ifMatch.trim();
+        if (version.startsWith("W/")) {
+            version = version.substring(2);
+        }
+        version = version.replace("\"", "");
+        try {
+            return Long.valueOf(version);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + ifMatch);
+        }
+    }
+
 }
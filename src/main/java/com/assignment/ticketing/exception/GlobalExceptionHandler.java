@@ -11,6 +11,7 @@ import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import com.assignment.ticketing.model.dto.response.ErrorResponse;
 
@@ -41,6 +42,15 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.BAD_REQUEST, errors.toString());
     }
 
+    /*
+     * Handles query parameters that cannot be converted, such as a malformed date.
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        log.error("Invalid parameter error: {}", ex.getMessage());
+        return buildResponse(HttpStatus.BAD_REQUEST, "Invalid value for parameter " + ex.getName() + ": " + ex.getValue());
+    }
+
     /*
      * Handles illegal argument exceptions, such as when an invalid argument is
      */
@@ -59,6 +69,15 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
+    /*
+     * Handles optimistic concurrency failures, such as when an If-Match version is stale
+     */
+    @ExceptionHandler(TicketVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleVersionConflict(TicketVersionConflictException ex) {
+        log.error("Version conflict error: {}", ex.getMessage());
+        return buildResponse(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+    }
+
     /*
      * Handles general exceptions that are not caught by other handlers
      */
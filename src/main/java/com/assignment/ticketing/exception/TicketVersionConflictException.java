@@ -0,0 +1,12 @@
+package com.assignment.ticketing.exception;
+
+/*
+ * Thrown when a ticket was modified concurrently, i.e. its status or version no longer
+ * matches what the caller expected.
+ */
+public class TicketVersionConflictException extends RuntimeException {
+
+    public TicketVersionConflictException(Long ticketId, long currentVersion) {
+        super("Ticket " + ticketId + " was modified concurrently, current version is " + currentVersion);
+    }
+}
@@ -0,0 +1,108 @@
+package com.assignment.ticketing.importer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.TicketStatus;
+
+/*
+ * RFC 4180 style CSV with a header row naming the columns, in any order:
+ * ticketId,subject,description,status,userId,assigneeId,createdAt,updatedAt
+ * Only ticketId is required. Comments are imported through NDJSON.
+ */
+class CsvTicketParser implements TicketRecordParser {
+
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    CsvTicketParser(String header) {
+        List<String> names = split(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        if (!columns.containsKey("ticketId")) {
+            throw new IllegalArgumentException("CSV header must contain a ticketId column");
+        }
+    }
+
+    @Override
+    public Ticket parse(String record) {
+        List<String> fields = split(record);
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(Long.valueOf(required(fields, "ticketId")));
+        ticket.setSubject(field(fields, "subject"));
+        ticket.setDescription(field(fields, "description"));
+        String status = field(fields, "status");
+        ticket.setStatus(status == null ? TicketStatus.OPEN : TicketStatus.valueOf(status.trim().toUpperCase(Locale.ROOT)));
+        ticket.setUserId(field(fields, "userId"));
+        ticket.setAssigneeId(field(fields, "assigneeId"));
+        ticket.setCreatedAt(timestamp(field(fields, "createdAt")));
+        ticket.setUpdatedAt(timestamp(field(fields, "updatedAt")));
+        return ticket;
+    }
+
+    /*
+     * Tells whether a physical line ends inside a quoted field, i.e. the record continues on the next line.
+     */
+    static boolean isIncomplete(String record) {
+        int quotes = 0;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 != 0;
+    }
+
+    static List<String> split(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private String field(List<String> fields, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private String required(List<String> fields, String name) {
+        String value = field(fields, name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + name);
+        }
+        return value.trim();
+    }
+
+    private LocalDateTime timestamp(String value) {
+        return value == null ? null : LocalDateTime.parse(value.trim());
+    }
+}
@@ -0,0 +1,6 @@
+package com.assignment.ticketing.importer;
+
+public enum ImportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,8 @@
+package com.assignment.ticketing.importer;
+
+import java.util.List;
+
+/*
+ * Outcome of a bulk import. Errors hold a sample of the rejected records with their line numbers.
+ */
+public record ImportResult(long imported, long failed, List<String> errors, long elapsedMillis) {}
@@ -0,0 +1,55 @@
+package com.assignment.ticketing.importer;
+
+import java.util.ArrayList;
+
+import com.assignment.ticketing.model.domain.Comment;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.TicketStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * One JSON ticket per line, with the same fields as the domain ticket, including its comments:
+ * {"ticketId":1,"subject":"...","status":"RESOLVED","createdAt":"2024-01-02T10:00:00","comments":[...]}
+ * Comments need the same fields as one added through the API: authorId, content and visibility.
+ */
+class NdjsonTicketParser implements TicketRecordParser {
+
+    private final ObjectMapper objectMapper;
+
+    NdjsonTicketParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Ticket parse(String record) throws Exception {
+        Ticket ticket = objectMapper.readValue(record, Ticket.class);
+        if (ticket.getTicketId() == null) {
+            throw new IllegalArgumentException("Missing ticketId");
+        }
+        if (ticket.getStatus() == null) {
+            ticket.setStatus(TicketStatus.OPEN);
+        }
+        if (ticket.getComments() == null) {
+            ticket.setComments(new ArrayList<>());
+        }
+        for (int i = 0; i < ticket.getComments().size(); i++) {
+            validate(i + 1, ticket.getComments().get(i));
+        }
+        return ticket;
+    }
+
+    private static void validate(int number, Comment comment) {
+        if (comment == null) {
+            throw new IllegalArgumentException("Comment " + number + " is null");
+        }
+        if (comment.getAuthorId() == null || comment.getAuthorId().isBlank()) {
+            throw new IllegalArgumentException("Comment " + number + ": missing authorId");
+        }
+        if (comment.getContent() == null) {
+            throw new IllegalArgumentException("Comment " + number + ": missing content");
+        }
+        if (comment.getVisibility() == null) {
+            throw new IllegalArgumentException("Comment " + number + ": missing visibility");
+        }
+    }
+}
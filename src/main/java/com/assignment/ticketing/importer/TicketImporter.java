@@ -0,0 +1,309 @@
+package com.assignment.ticketing.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.assignment.ticketing.config.ImportConfig;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.repository.ImportedBatch;
+import com.assignment.ticketing.repository.TicketRepository;
+import com.assignment.ticketing.service.AssignmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Streams tickets from an NDJSON or CSV source into the repository.
+ *
+ * The calling thread only splits the input into records and hands chunks of batch-size records to
+ * a pool of workers through a bounded queue, so a fast reader blocks instead of buffering the whole
+ * file, and memory stays at roughly (queue capacity + workers) chunks whatever the input size.
+ * Workers parse their chunk and store it with one saveAll call. Bad records are counted and
+ * reported with their line number; they never abort the import.
+ *
+ * Records may replace the tickets that existed when the import started, but never a ticket created
+ * while it runs, which would otherwise be lost if its generated ID shows up in a later batch.
+ */
+@Slf4j
+@Component
+public class TicketImporter {
+
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private static final Chunk END = new Chunk(List.of());
+
+    private final TicketRepository ticketRepository;
+    private final AssignmentService assignmentService;
+    private final ObjectMapper objectMapper;
+    private final ImportConfig importConfig;
+
+    public TicketImporter(TicketRepository ticketRepository, AssignmentService assignmentService,
+            ObjectMapper objectMapper, ImportConfig importConfig) {
+        this.ticketRepository = ticketRepository;
+        this.assignmentService = assignmentService;
+        this.objectMapper = objectMapper;
+        this.importConfig = importConfig;
+    }
+
+    /**
+     * Imports every record of the input. Tickets that existed before the import are overwritten by
+     * records with the same ID; records colliding with a ticket created during the import are rejected.
+     *
+     * @param input  the NDJSON or CSV content, read until the end
+     * @param format the format of the input
+     * @return the number of imported and rejected records, with a sample of the errors
+     * @throws IOException if reading the input fails
+     */
+    public ImportResult importTickets(InputStream input, ImportFormat format) throws IOException {
+        long start = System.nanoTime();
+        int workers = importConfig.getParallelism() > 0
+                ? importConfig.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        int batchSize = Math.max(importConfig.getBatchSize(), 1);
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(Math.max(importConfig.getQueueCapacity(), 1));
+        Progress progress = new Progress();
+        long replaceableUpTo = ticketRepository.lastTicketId();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+        RecordReader records = new RecordReader(reader, format);
+        TicketRecordParser parser = switch (format) {
+            case NDJSON -> new NdjsonTicketParser(objectMapper);
+            case CSV -> {
+                Line header = records.next();
+                yield header == null ? null : new CsvTicketParser(header.text());
+            }
+        };
+        if (parser == null) {
+            return progress.toResult(start);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers,
+                Thread.ofPlatform().name("ticket-import-", 0).daemon().factory());
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            futures.add(pool.submit(() -> work(queue, parser, replaceableUpTo, progress)));
+        }
+        try {
+            List<Line> chunk = new ArrayList<>(batchSize);
+            for (Line line = records.next(); line != null; line = records.next()) {
+                chunk.add(line);
+                if (chunk.size() == batchSize) {
+                    submit(queue, new Chunk(chunk), futures);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(queue, new Chunk(chunk), futures);
+            }
+        } finally {
+            try {
+                for (int i = 0; i < workers && put(queue, END, futures); i++) {
+                    // One end marker per worker.
+                }
+                awaitWorkers(futures);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        ImportResult result = progress.toResult(start);
+        log.info("Imported {} tickets ({} rejected) in {} ms", result.imported(), result.failed(), result.elapsedMillis());
+        return result;
+    }
+
+    private void work(BlockingQueue<Chunk> queue, TicketRecordParser parser, long replaceableUpTo, Progress progress) {
+        while (true) {
+            Chunk chunk;
+            try {
+                chunk = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (chunk == END) {
+                return;
+            }
+            List<Ticket> batch = new ArrayList<>(chunk.lines().size());
+            Map<Ticket, Long> lineNumbers = new IdentityHashMap<>();
+            for (Line line : chunk.lines()) {
+                try {
+                    Ticket ticket = parser.parse(line.text());
+                    batch.add(ticket);
+                    lineNumbers.put(ticket, line.number());
+                } catch (Exception e) {
+                    progress.reject(line.number(), e.getMessage());
+                }
+            }
+            store(batch, lineNumbers, chunk, replaceableUpTo, progress);
+        }
+    }
+
+    /*
+     * Imported tickets keep their assignee, so its load is added to the agent's count in one step
+     * per batch, after releasing the load of the tickets they replaced. SLA timers are not armed:
+     * a backlog of old tickets would escalate all at once.
+     */
+    private void store(List<Ticket> batch, Map<Ticket, Long> lineNumbers, Chunk chunk, long replaceableUpTo,
+            Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        ImportedBatch result;
+        try {
+            result = ticketRepository.saveAll(batch, replaceableUpTo);
+        } catch (RuntimeException e) {
+            log.warn("Failed to store an import batch starting at line {}", chunk.lines().get(0).number(), e);
+            progress.rejectBatch(batch.size(), chunk.lines().get(0).number(), e.getMessage());
+            return;
+        }
+        progress.imported.add(result.saved().size());
+        for (Ticket conflict : result.conflicts()) {
+            progress.reject(lineNumbers.get(conflict),
+                    "Ticket " + conflict.getTicketId() + " was created after the import started and is not overwritten");
+        }
+
+        for (Ticket previous : result.replaced()) {
+            if (previous.getAssigneeId() != null && previous.getStatus().isActive()) {
+                assignmentService.release(previous.getAssigneeId());
+            }
+        }
+        Map<String, Integer> loads = new HashMap<>();
+        for (Ticket ticket : result.saved()) {
+            if (ticket.getAssigneeId() != null && ticket.getStatus().isActive()) {
+                loads.merge(ticket.getAssigneeId(), 1, Integer::sum);
+            }
+        }
+        loads.forEach(assignmentService::addLoad);
+    }
+
+    private static void submit(BlockingQueue<Chunk> queue, Chunk chunk, List<Future<?>> workers) {
+        if (!put(queue, chunk, workers)) {
+            throw new IllegalStateException("Import workers stopped before the end of the input");
+        }
+    }
+
+    /*
+     * Waits for room in the queue as long as a worker is alive to make some.
+     * Returns false if every worker has stopped, e.g. after failing on an unexpected error.
+     */
+    private static boolean put(BlockingQueue<Chunk> queue, Chunk chunk, List<Future<?>> workers) {
+        try {
+            while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                if (workers.stream().allMatch(Future::isDone)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        }
+    }
+
+    private static void awaitWorkers(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Import interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Import worker failed", e.getCause());
+            }
+        }
+    }
+
+    private record Line(long number, String text) {}
+
+    private record Chunk(List<Line> lines) {}
+
+    /*
+     * Splits the input into records, skipping blank lines. A CSV record spans several lines while
+     * a quoted field is open; its number is that of its first line.
+     */
+    private static final class RecordReader {
+
+        private final BufferedReader reader;
+        private final ImportFormat format;
+        private long lineNumber;
+
+        RecordReader(BufferedReader reader, ImportFormat format) {
+            this.reader = reader;
+            this.format = format;
+        }
+
+        Line next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                lineNumber++;
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            long first = lineNumber;
+            if (format == ImportFormat.CSV && CsvTicketParser.isIncomplete(line)) {
+                StringBuilder record = new StringBuilder(line);
+                String continuation;
+                while (CsvTicketParser.isIncomplete(record.toString()) && (continuation = reader.readLine()) != null) {
+                    lineNumber++;
+                    record.append('\n').append(continuation);
+                }
+                line = record.toString();
+            }
+            return new Line(first, line);
+        }
+    }
+
+    private static final class Progress {
+
+        private final LongAdder imported = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final List<String> errors = new ArrayList<>();
+
+        void reject(long lineNumber, String message) {
+            failed.increment();
+            report(lineNumber, message);
+        }
+
+        void rejectBatch(int size, long lineNumber, String message) {
+            failed.add(size);
+            report(lineNumber, message);
+        }
+
+        private void report(long lineNumber, String message) {
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("Line " + lineNumber + ": " + message);
+                }
+            }
+        }
+
+        ImportResult toResult(long startNanos) {
+            List<String> sample;
+            synchronized (errors) {
+                sample = List.copyOf(errors);
+            }
+            return new ImportResult(imported.sum(), failed.sum(), sample,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.assignment.ticketing.importer;
+
+import com.assignment.ticketing.model.domain.Ticket;
+
+/*
+ * Turns one record of an import stream into a ticket. Implementations must be thread-safe.
+ */
+interface TicketRecordParser {
+
+    Ticket parse(String record) throws Exception;
+}
@@ -0,0 +1,15 @@
+package com.assignment.ticketing.model.domain;
+
+/*
+ * Number of active (OPEN or IN_PROGRESS) tickets currently assigned to an agent.
+ */
+public record AgentLoad(String agentId, int activeTickets) {
+
+    public AgentLoad increment() {
+        return new AgentLoad(agentId, activeTickets + 1);
+    }
+
+    public AgentLoad decrement() {
+        return new AgentLoad(agentId, Math.max(0, activeTickets - 1));
+    }
+}
@@ -9,8 +9,10 @@ import com.assignment.ticketing.model.enums.TicketStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.With;
 
 @Data
+@With
 @NoArgsConstructor
 @AllArgsConstructor
 public class Ticket {
@@ -22,5 +24,6 @@ public class Ticket {
     private String assigneeId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private long version;
     private List<Comment> comments = new ArrayList<>();
 }
@@ -0,0 +1,3 @@
+package com.assignment.ticketing.model.dto.response;
+
+public record AgentLoadResponse(String agentId, int activeTickets) {}
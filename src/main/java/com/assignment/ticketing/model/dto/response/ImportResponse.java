@@ -0,0 +1,5 @@
+package com.assignment.ticketing.model.dto.response;
+
+import java.util.List;
+
+public record ImportResponse(long imported, long failed, List<String> errors, long elapsedMillis) {}
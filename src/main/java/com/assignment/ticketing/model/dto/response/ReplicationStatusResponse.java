@@ -0,0 +1,4 @@
+package com.assignment.ticketing.model.dto.response;
+
+public record ReplicationStatusResponse(String role, boolean connected, long appliedSequence, long leaderSequence,
+        long lagEntries, long lagMillis, int followers) {}
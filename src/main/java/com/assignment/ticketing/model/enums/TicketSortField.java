@@ -0,0 +1,41 @@
+package com.assignment.ticketing.model.enums;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import com.assignment.ticketing.model.domain.Ticket;
+
+public enum TicketSortField {
+    CREATED_AT("createdAt", Ticket::getCreatedAt),
+    UPDATED_AT("updatedAt", Ticket::getUpdatedAt);
+
+    private final String param;
+    private final Function<Ticket, LocalDateTime> accessor;
+
+    TicketSortField(String param, Function<Ticket, LocalDateTime> accessor) {
+        this.param = param;
+        this.accessor = accessor;
+    }
+
+    /*
+     * Returns the timestamp of the ticket this field sorts on.
+     */
+    public LocalDateTime of(Ticket ticket) {
+        return accessor.apply(ticket);
+    }
+
+    /*
+     * Parses the sort request parameter, e.g. "createdAt". Returns null when no sort is requested.
+     */
+    public static TicketSortField fromParam(String param) {
+        if (param == null || param.isBlank()) {
+            return null;
+        }
+        for (TicketSortField field : values()) {
+            if (field.param.equalsIgnoreCase(param.trim())) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Invalid sort field: " + param + " (expected createdAt or updatedAt)");
+    }
+}
@@ -20,4 +20,13 @@ public enum TicketStatus {
                 case CLOSED      -> false;
             };
         }
+
+        /**
+         * Checks if a ticket in this status still requires work from its assignee.
+         *
+         * @return true for OPEN and IN_PROGRESS, false otherwise.
+         */
+        public boolean isActive() {
+            return this == OPEN || this == IN_PROGRESS;
+        }
 }
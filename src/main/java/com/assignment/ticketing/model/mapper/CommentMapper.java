@@ -1,6 +1,7 @@
 package com.assignment.ticketing.model.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import com.assignment.ticketing.model.domain.Comment;
 import com.assignment.ticketing.model.dto.request.AddCommentRequest;
@@ -11,6 +12,9 @@ import com.assignment.ticketing.model.dto.response.CommentResponse;
 @Mapper(componentModel = "spring")
 public interface CommentMapper {
 
+    @Mapping(target = "commentId", ignore = true)
+    @Mapping(target = "ticketId", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
     Comment toComment(AddCommentRequest addCommentRequest);
 
     CommentResponse toCommentResponse(Comment comment);
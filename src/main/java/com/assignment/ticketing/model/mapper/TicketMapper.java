@@ -1,6 +1,8 @@
 package com.assignment.ticketing.model.mapper;
 
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
 
 import com.assignment.ticketing.model.domain.Ticket;
 import com.assignment.ticketing.model.dto.response.TicketResponse;
@@ -10,6 +12,9 @@ import com.assignment.ticketing.model.dto.request.CreateTicketRequest;
 @Mapper(componentModel = "spring")
 public interface TicketMapper {
 
+    // IDs, status, assignee, timestamps and version are set by the service and the storage;
+    // the with* copy methods of Ticket would otherwise be reported as unmapped properties too.
+    @BeanMapping(unmappedTargetPolicy = ReportingPolicy.IGNORE)
     Ticket toTicket(CreateTicketRequest ticketRequest);
 
     TicketResponse toTicketResponse(Ticket ticket);
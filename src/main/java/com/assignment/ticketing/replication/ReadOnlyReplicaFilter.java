@@ -0,0 +1,43 @@
+package com.assignment.ticketing.replication;
+
+import java.io.IOException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+@ConditionalOnProperty(name = "ticketing.replication.role", havingValue = "follower")
+public class ReadOnlyReplicaFilter extends OncePerRequestFilter {
+
+    /*
+     * Followers only serve reads: any write to the API is rejected before it reaches the local repository.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        response.setStatus(HttpStatus.METHOD_NOT_ALLOWED.value());
+        response.getWriter().write("Read-only replica, send writes to the leader");
+    }
+
+    /*
+     * This method checks if the filter should be applied to the request.
+     * It skips reads and anything outside the API.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
+        String method = request.getMethod();
+        return !request.getRequestURI().startsWith("/api/") ||
+                HttpMethod.GET.matches(method) ||
+                HttpMethod.HEAD.matches(method) ||
+                HttpMethod.OPTIONS.matches(method);
+    }
+}
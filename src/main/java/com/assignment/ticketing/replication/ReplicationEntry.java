@@ -0,0 +1,9 @@
+package com.assignment.ticketing.replication;
+
+import com.assignment.ticketing.model.domain.Ticket;
+
+/*
+ * One write of the leader's log: the full state of the ticket after the write, so that applying
+ * an entry is idempotent and entries for the same ticket can be compacted.
+ */
+public record ReplicationEntry(long sequence, Ticket ticket) {}
@@ -0,0 +1,144 @@
+package com.assignment.ticketing.replication;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.assignment.ticketing.config.ReplicationConfig;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.repository.TicketRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Connects to the leader, applies its write log to the local repository and reconnects on failure,
+ * resuming from the last applied sequence.
+ *
+ * Snapshot chunks are collected aside and swapped in as a whole once SNAPSHOT_END arrives, so reads keep
+ * being served from the previous state meanwhile. The swap overrides local versions: after a leader
+ * restart, sequences and versions start over and the snapshot is the truth.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ticketing.replication.role", havingValue = "follower")
+public class ReplicationFollower {
+
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 30_000;
+
+    private final TicketRepository ticketRepository;
+    private final ObjectMapper objectMapper;
+    private final ReplicationConfig replicationConfig;
+    private final List<Ticket> snapshot = new ArrayList<>();
+    private volatile String leaderRunId;
+    private volatile long appliedSequence;
+    private volatile long leaderSequence;
+    private volatile long lastLeaderTime;
+    private volatile boolean connected;
+    private volatile Socket socket;
+    private Thread worker;
+
+    public ReplicationFollower(TicketRepository ticketRepository, ObjectMapper objectMapper,
+            ReplicationConfig replicationConfig) {
+        this.ticketRepository = ticketRepository;
+        this.objectMapper = objectMapper;
+        this.replicationConfig = replicationConfig;
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = Thread.ofVirtual().name("replication-follower").start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        worker.interrupt();
+        Socket current = socket;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    public ReplicationStatus status() {
+        long lag = Math.max(leaderSequence - appliedSequence, 0);
+        long lagMillis = lag == 0 || lastLeaderTime == 0 ? 0 : Math.max(System.currentTimeMillis() - lastLeaderTime, 0);
+        return new ReplicationStatus("follower", connected, appliedSequence, leaderSequence, lag, lagMillis, 0);
+    }
+
+    private void run() {
+        long delay = 100;
+        while (!Thread.currentThread().isInterrupted()) {
+            try (Socket current = new Socket(replicationConfig.getLeaderHost(), replicationConfig.getLeaderPort())) {
+                socket = current;
+                current.setTcpNoDelay(true);
+                connected = true;
+                delay = 100;
+                log.info("Connected to replication leader {}:{} from sequence {}",
+                        replicationConfig.getLeaderHost(), replicationConfig.getLeaderPort(), appliedSequence);
+                follow(current);
+            } catch (IOException e) {
+                log.warn("Replication from leader interrupted: {}", e.getMessage());
+            } finally {
+                connected = false;
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delay = Math.min(delay * 2, MAX_RECONNECT_DELAY_MILLIS);
+        }
+    }
+
+    private void follow(Socket current) throws IOException {
+        snapshot.clear();
+        BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(current.getOutputStream(), StandardCharsets.UTF_8));
+        writer.write(objectMapper.writeValueAsString(ReplicationFrame.subscribe(replicationConfig.getToken(), leaderRunId, appliedSequence)));
+        writer.newLine();
+        writer.flush();
+
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(current.getInputStream(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            apply(objectMapper.readValue(line, ReplicationFrame.class));
+        }
+    }
+
+    void apply(ReplicationFrame frame) {
+        switch (frame.type()) {
+            case SNAPSHOT -> snapshot.addAll(frame.tickets());
+            case SNAPSHOT_END -> {
+                snapshot.addAll(frame.tickets());
+                if (leaderRunId != null && !leaderRunId.equals(frame.runId())) {
+                    log.info("Replication leader restarted (run {}), replacing all tickets with its snapshot", frame.runId());
+                }
+                ticketRepository.replaceAll(List.copyOf(snapshot));
+                snapshot.clear();
+                leaderRunId = frame.runId();
+                appliedSequence = frame.sequence();
+            }
+            case BATCH -> {
+                for (Ticket ticket : frame.tickets()) {
+                    ticketRepository.replicate(ticket);
+                }
+                appliedSequence = frame.sequence();
+            }
+            default -> { }
+        }
+        leaderSequence = Math.max(frame.headSequence(), appliedSequence);
+        lastLeaderTime = frame.leaderTime();
+    }
+}
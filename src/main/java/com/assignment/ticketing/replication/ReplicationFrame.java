@@ -0,0 +1,32 @@
+package com.assignment.ticketing.replication;
+
+import java.util.List;
+
+import com.assignment.ticketing.model.domain.Ticket;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/*
+ * Newline-delimited JSON message exchanged between leader and follower.
+ * Every frame carries the run ID of the leader that the sequences belong to.
+ * - SUBSCRIBE: follower -> leader, sequence is the last entry the follower applied in run runId (null if none),
+ *   token is the shared replication secret; it is never set on the leader's frames
+ * - SNAPSHOT: one chunk of the leader's tickets, sequence is the log position the snapshot covers
+ * - SNAPSHOT_END: the snapshot is complete, the follower is now at sequence
+ * - BATCH: log entries up to sequence, compacted to the latest state per ticket
+ * - HEARTBEAT: no new entries, headSequence keeps the lag measurement fresh
+ */
+public record ReplicationFrame(Type type, String runId, long sequence, long headSequence, long leaderTime, List<Ticket> tickets,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String token) {
+
+    public enum Type {
+        SUBSCRIBE,
+        SNAPSHOT,
+        SNAPSHOT_END,
+        BATCH,
+        HEARTBEAT
+    }
+
+    public static ReplicationFrame subscribe(String token, String runId, long sequence) {
+        return new ReplicationFrame(Type.SUBSCRIBE, runId, sequence, 0, 0, List.of(), token);
+    }
+}
@@ -0,0 +1,202 @@
+package com.assignment.ticketing.replication;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.assignment.ticketing.config.ReplicationConfig;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.repository.TicketRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Accepts follower connections and streams the write log to each of them in batches.
+ * A follower resumes from its sequence only if it was applied from this run of the leader;
+ * one coming from an earlier run reloads everything from a snapshot.
+ *
+ * The stream carries every ticket with its internal comments, so the leader only listens on
+ * loopback unless a shared token is configured, which followers must then present to subscribe.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ticketing.replication.role", havingValue = "leader")
+public class ReplicationLeader {
+
+    private final ReplicationLog replicationLog;
+    private final TicketRepository ticketRepository;
+    private final ObjectMapper objectMapper;
+    private final ReplicationConfig replicationConfig;
+    private final Set<Socket> followers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private ServerSocket serverSocket;
+
+    public ReplicationLeader(ReplicationLog replicationLog, TicketRepository ticketRepository,
+            ObjectMapper objectMapper, ReplicationConfig replicationConfig) {
+        this.replicationLog = replicationLog;
+        this.ticketRepository = ticketRepository;
+        this.objectMapper = objectMapper;
+        this.replicationConfig = replicationConfig;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        InetAddress bindAddress = InetAddress.getByName(replicationConfig.getBindAddress());
+        if (!bindAddress.isLoopbackAddress() && !hasToken()) {
+            throw new IllegalStateException("ticketing.replication.token must be set to accept followers on "
+                    + bindAddress.getHostAddress());
+        }
+        serverSocket = new ServerSocket(replicationConfig.getPort(), 0, bindAddress);
+        executor.submit(this::acceptFollowers);
+        log.info("Replication leader listening on {}:{}", bindAddress.getHostAddress(), getPort());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        serverSocket.close();
+        for (Socket follower : followers) {
+            follower.close();
+        }
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public InetAddress getAddress() {
+        return serverSocket.getInetAddress();
+    }
+
+    public ReplicationStatus status() {
+        long head = replicationLog.headSequence();
+        return new ReplicationStatus("leader", true, head, head, 0, 0, followers.size());
+    }
+
+    private void acceptFollowers() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                followers.add(socket);
+                executor.submit(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.error("Failed to accept follower connection: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        log.info("Follower connected from {}", socket.getRemoteSocketAddress());
+        try (socket;
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter writer = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            ReplicationFrame subscribe = objectMapper.readValue(reader.readLine(), ReplicationFrame.class);
+            if (!isAuthorized(subscribe)) {
+                log.warn("Follower {} rejected: missing or invalid replication token", socket.getRemoteSocketAddress());
+                return;
+            }
+            long applied = subscribe.sequence();
+            long heartbeatMillis = replicationConfig.getHeartbeat().toMillis();
+            int batchSize = Math.max(replicationConfig.getBatchSize(), 1);
+
+            boolean needsSnapshot = applied == 0
+                    || !replicationLog.runId().equals(subscribe.runId())
+                    || applied > replicationLog.headSequence();
+            List<ReplicationEntry> batch = needsSnapshot ? null : replicationLog.read(applied + 1, batchSize, 0);
+            while (!Thread.currentThread().isInterrupted()) {
+                if (batch == null) {
+                    applied = sendSnapshot(writer, batchSize);
+                } else if (batch.isEmpty()) {
+                    send(writer, ReplicationFrame.Type.HEARTBEAT, applied, List.of());
+                } else {
+                    applied = batch.get(batch.size() - 1).sequence();
+                    send(writer, ReplicationFrame.Type.BATCH, applied, compact(batch));
+                }
+                writer.flush();
+                batch = replicationLog.read(applied + 1, batchSize, heartbeatMillis);
+            }
+        } catch (IOException e) {
+            log.warn("Follower {} disconnected: {}", socket.getRemoteSocketAddress(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            followers.remove(socket);
+        }
+    }
+
+    private boolean hasToken() {
+        return replicationConfig.getToken() != null && !replicationConfig.getToken().isEmpty();
+    }
+
+    private boolean isAuthorized(ReplicationFrame subscribe) {
+        if (!hasToken()) {
+            return true;
+        }
+        return subscribe.token() != null && MessageDigest.isEqual(
+                subscribe.token().getBytes(StandardCharsets.UTF_8),
+                replicationConfig.getToken().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /*
+     * Streams every ticket in chunks. The log position is read first: writes racing with the
+     * iteration are replayed afterwards, and the follower discards states it already has.
+     */
+    private long sendSnapshot(BufferedWriter writer, int chunkSize) throws IOException {
+        long sequence = replicationLog.headSequence();
+        List<Ticket> tickets = ticketRepository.findByFilter(null, null, null);
+        log.info("Sending snapshot of {} tickets at sequence {}", tickets.size(), sequence);
+        for (int from = 0; from < tickets.size(); from += chunkSize) {
+            List<Ticket> chunk = tickets.subList(from, Math.min(from + chunkSize, tickets.size()));
+            send(writer, ReplicationFrame.Type.SNAPSHOT, sequence, chunk);
+        }
+        send(writer, ReplicationFrame.Type.SNAPSHOT_END, sequence, List.of());
+        return sequence;
+    }
+
+    /*
+     * Keeps only the highest version of each ticket in the batch. Entries of one ticket may be
+     * appended slightly out of order by concurrent writers, so the version decides, not the position.
+     */
+    private List<Ticket> compact(List<ReplicationEntry> batch) {
+        Map<Long, Ticket> latest = new LinkedHashMap<>();
+        for (ReplicationEntry entry : batch) {
+            latest.merge(entry.ticket().getTicketId(), entry.ticket(),
+                    (current, next) -> next.getVersion() >= current.getVersion() ? next : current);
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    private void send(BufferedWriter writer, ReplicationFrame.Type type, long sequence, List<Ticket> tickets)
+            throws IOException {
+        ReplicationFrame frame = new ReplicationFrame(type, replicationLog.runId(), sequence, replicationLog.headSequence(),
+                System.currentTimeMillis(), tickets, null);
+        writer.write(objectMapper.writeValueAsString(frame));
+        writer.newLine();
+    }
+}
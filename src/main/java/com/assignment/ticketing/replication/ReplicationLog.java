@@ -0,0 +1,101 @@
+package com.assignment.ticketing.replication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.assignment.ticketing.config.ReplicationConfig;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.repository.TicketChangeListener;
+
+/*
+ * Ordered write log of the leader, kept in a ring buffer of the most recent entries.
+ * Followers that fall behind the retained window catch up from a snapshot instead.
+ * Sequences restart at 1 with every run of the leader, so each run has its own ID.
+ */
+@Component
+@ConditionalOnProperty(name = "ticketing.replication.role", havingValue = "leader")
+public class ReplicationLog implements TicketChangeListener {
+
+    private final Ticket[] entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final String runId = UUID.randomUUID().toString();
+    private long headSequence;
+
+    public ReplicationLog(ReplicationConfig replicationConfig) {
+        this.entries = new Ticket[Math.max(replicationConfig.getLogCapacity(), 1)];
+    }
+
+    @Override
+    public void onTicketChanged(Ticket ticket) {
+        lock.lock();
+        try {
+            headSequence++;
+            entries[(int) (headSequence % entries.length)] = ticket;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the ID of this run of the leader, which the sequences of the log are relative to.
+     *
+     * @return the run ID
+     */
+    public String runId() {
+        return runId;
+    }
+
+    /**
+     * Returns the sequence of the last appended entry.
+     *
+     * @return the head sequence, 0 if the log is empty
+     */
+    public long headSequence() {
+        lock.lock();
+        try {
+            return headSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads up to {@code max} entries starting at {@code fromSequence}, waiting up to the timeout
+     * for the first one to be appended.
+     *
+     * @param fromSequence  the sequence of the first entry to read
+     * @param max           the maximum number of entries to return
+     * @param timeoutMillis how long to wait when no entry is available yet
+     * @return the entries (empty on timeout), or null if {@code fromSequence} is no longer retained
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public List<ReplicationEntry> read(long fromSequence, int max, long timeoutMillis) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (headSequence < fromSequence && remaining > 0) {
+                remaining = appended.awaitNanos(remaining);
+            }
+            if (fromSequence <= headSequence - entries.length) {
+                return null;
+            }
+            long last = Math.min(headSequence, fromSequence + max - 1);
+            List<ReplicationEntry> batch = new ArrayList<>((int) Math.max(last - fromSequence + 1, 0));
+            for (long sequence = fromSequence; sequence <= last; sequence++) {
+                batch.add(new ReplicationEntry(sequence, entries[(int) (sequence % entries.length)]));
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.assignment.ticketing.replication;
+
+/*
+ * Replication state of this node. Lag is only meaningful on followers.
+ */
+public record ReplicationStatus(String role, boolean connected, long appliedSequence, long leaderSequence,
+        long lagEntries, long lagMillis, int followers) {
+
+    public static ReplicationStatus standalone() {
+        return new ReplicationStatus("none", false, 0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,14 @@
+package com.assignment.ticketing.repository;
+
+import java.util.List;
+
+import com.assignment.ticketing.model.domain.Ticket;
+
+/**
+ * Outcome of storing a batch of imported tickets.
+ *
+ * @param saved     the stored tickets
+ * @param replaced  the previous state of the stored tickets that replaced an existing one
+ * @param conflicts the imported tickets left out because their ID belongs to a ticket that may not be replaced
+ */
+public record ImportedBatch(List<Ticket> saved, List<Ticket> replaced, List<Ticket> conflicts) {}
@@ -0,0 +1,12 @@
+package com.assignment.ticketing.repository;
+
+import com.assignment.ticketing.model.domain.Ticket;
+
+/*
+ * Notified by the storage after every successful write with the new state of the ticket.
+ */
+@FunctionalInterface
+public interface TicketChangeListener {
+
+    void onTicketChanged(Ticket ticket);
+}
@@ -0,0 +1,57 @@
+package com.assignment.ticketing.repository;
+
+import java.time.LocalDateTime;
+
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.TicketSortField;
+
+/**
+ * Criteria of a ticket listing. Every field is optional.
+ *
+ * @param status        the status of the tickets, case-insensitive
+ * @param userId        the ID of the user who created the tickets
+ * @param assigneeId    the ID of the agent assigned to the tickets
+ * @param createdAfter  only tickets created strictly after this time
+ * @param createdBefore only tickets created strictly before this time
+ * @param updatedSince  only tickets updated at or after this time
+ * @param sort          the timestamp to order the tickets by; unordered if null
+ * @param descending    whether to list the most recent tickets first
+ * @param limit         the maximum number of tickets to return; all of them if null
+ */
+public record TicketQuery(
+        String status,
+        String userId,
+        String assigneeId,
+        LocalDateTime createdAfter,
+        LocalDateTime createdBefore,
+        LocalDateTime updatedSince,
+        TicketSortField sort,
+        boolean descending,
+        Integer limit) {
+
+    public TicketQuery {
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+    }
+
+    public static TicketQuery filter(String status, String userId, String assigneeId) {
+        return new TicketQuery(status, userId, assigneeId, null, null, null, null, false, null);
+    }
+
+    /*
+     * Tells whether the query can be answered from a time index rather than a full scan.
+     */
+    public boolean isOrdered() {
+        return sort != null || createdAfter != null || createdBefore != null || updatedSince != null;
+    }
+
+    public boolean matches(Ticket ticket) {
+        return (status == null || ticket.getStatus().name().equalsIgnoreCase(status))
+                && (userId == null || userId.equals(ticket.getUserId()))
+                && (assigneeId == null || assigneeId.equals(ticket.getAssigneeId()))
+                && (createdAfter == null || (ticket.getCreatedAt() != null && ticket.getCreatedAt().isAfter(createdAfter)))
+                && (createdBefore == null || (ticket.getCreatedAt() != null && ticket.getCreatedAt().isBefore(createdBefore)))
+                && (updatedSince == null || (ticket.getUpdatedAt() != null && !ticket.getUpdatedAt().isBefore(updatedSince)));
+    }
+}
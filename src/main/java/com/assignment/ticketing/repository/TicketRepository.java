@@ -5,6 +5,7 @@ import java.util.Optional;
 
 import com.assignment.ticketing.model.domain.Comment;
 import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.TicketStatus;
 
 public interface TicketRepository {
 
@@ -12,8 +13,79 @@ public interface TicketRepository {
 
     Optional<Ticket> findById(Long id);
 
-    List<Ticket> findByFilter(String status, String userId, String assigneeId);
+    /**
+     * Finds tickets matching a query, in the requested order and up to its limit.
+     *
+     * @param query the filters, ordering and limit
+     * @return a list of tickets matching the query
+     */
+    List<Ticket> findByQuery(TicketQuery query);
 
-    Optional<Comment> addComment(Long ticketId, Comment comment);
+    default List<Ticket> findByFilter(String status, String userId, String assigneeId) {
+        return findByQuery(TicketQuery.filter(status, userId, assigneeId));
+    }
+
+    /**
+     * Appends a comment to a ticket, bumping its version.
+     *
+     * @param ticketId the ID of the ticket
+     * @param comment  the comment to add, which receives its ID, ticket ID and creation time
+     * @return an Optional containing the ticket version the comment produced, or empty if the ticket does not exist
+     */
+    Optional<Ticket> addComment(Long ticketId, Comment comment);
+
+    /**
+     * Atomically moves a ticket from the expected status to the next one, bumping its version.
+     *
+     * @param id              the ID of the ticket
+     * @param expected        the status the ticket must currently have
+     * @param next            the status to set
+     * @param expectedVersion the version the ticket must currently have, or null to skip the check
+     * @return an Optional containing the updated ticket, or empty if the ticket does not exist
+     * @throws com.assignment.ticketing.exception.TicketVersionConflictException if the status or version does not match
+     */
+    Optional<Ticket> transitionStatus(Long id, TicketStatus expected, TicketStatus next, Long expectedVersion);
+
+    default Optional<Ticket> transitionStatus(Long id, TicketStatus expected, TicketStatus next) {
+        return transitionStatus(id, expected, next, null);
+    }
+
+    /**
+     * Stores a ticket state received from another node if it is newer than the local copy.
+     *
+     * @param ticket the replicated ticket, with its ID, timestamps and version
+     */
+    void replicate(Ticket ticket);
+
+    /**
+     * Replaces the whole content with a snapshot received from another node, keeping the IDs, timestamps
+     * and versions of its tickets even where they are lower than the local ones. Each ticket is swapped
+     * in place and the tickets missing from the snapshot are removed afterwards, so readers see the old
+     * or the new state of every ticket but never an empty store. ID generators restart from the snapshot.
+     * Listeners are not notified.
+     *
+     * @param snapshot every ticket of the other node
+     */
+    void replaceAll(List<Ticket> snapshot);
+
+    /**
+     * Inserts a batch of imported tickets as-is, keeping their IDs, statuses, timestamps and comments.
+     * ID generators are advanced past the imported IDs before any ticket is written.
+     * A stored ticket is only replaced if its ID is at most replaceableUpTo, so that tickets created
+     * while an import runs are never overwritten; the imported tickets with such an ID are conflicts.
+     *
+     * @param tickets         the tickets to insert, each with an ID
+     * @param replaceableUpTo the highest ID of the stored tickets that may be replaced, e.g. lastTicketId() before the import
+     * @return the stored tickets, the tickets they replaced and the conflicts
+     * @throws IllegalArgumentException if a ticket has no ID
+     */
+    ImportedBatch saveAll(List<Ticket> tickets, long replaceableUpTo);
+
+    /**
+     * Returns the highest ticket ID generated or stored so far.
+     *
+     * @return the highest ticket ID, or 0 if there is none
+     */
+    long lastTicketId();
 
 }
\ No newline at end of file
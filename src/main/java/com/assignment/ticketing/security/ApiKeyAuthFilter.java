@@ -6,27 +6,22 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.assignment.ticketing.config.ApiKeyConfig;
-
 import java.io.IOException;
-import java.util.List;
-import java.util.Map;
 
 @Component
 public class ApiKeyAuthFilter extends OncePerRequestFilter {
 
     private static final String API_KEY_HEADER = "X-API-KEY";
 
-    private final ApiKeyConfig apiKeyConfig;
+    private final ApiKeyRegistry apiKeyRegistry;
 
-    public ApiKeyAuthFilter(ApiKeyConfig apiKeyConfig) {
-        this.apiKeyConfig = apiKeyConfig;
+    public ApiKeyAuthFilter(ApiKeyRegistry apiKeyRegistry) {
+        this.apiKeyRegistry = apiKeyRegistry;
     }
 
     /*
@@ -38,21 +33,14 @@ public class ApiKeyAuthFilter extends OncePerRequestFilter {
             FilterChain filterChain) throws ServletException, IOException {
 
         String apiKey = request.getHeader(API_KEY_HEADER);
+        Authentication auth = apiKeyRegistry.authenticate(apiKey);
 
-        Map<String, String> apiKeyToRole = Map.of(
-                apiKeyConfig.getUser(), "ROLE_USER",
-                apiKeyConfig.getAgent(), "ROLE_AGENT");
-
-        if (apiKey == null || !apiKeyToRole.containsKey(apiKey)) {
+        if (auth == null) {
             response.setStatus(HttpStatus.UNAUTHORIZED.value());
             response.getWriter().write("Missing or invalid API key");
             return;
         }
 
-        String role = apiKeyToRole.get(apiKey);
-        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                apiKey, null, List.of(new SimpleGrantedAuthority(role)));
-
         SecurityContextHolder.getContext().setAuthentication(auth);
         filterChain.doFilter(request, response);
     }
@@ -0,0 +1,195 @@
+package com.assignment.ticketing.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import com.assignment.ticketing.config.ApiKeyConfig;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Registry of the API keys accepted by the service.
+ *
+ * Keys come from api.key.user and api.key.agent, plus an optional key file (api.key.file) with one
+ * "name,role,sha256-hex-of-key" line per integration, so the file never holds the keys themselves.
+ * The file is polled every api.key.reload-interval; a changed file is parsed into a new immutable
+ * table that replaces the current one with a single reference swap. Requests in progress keep using
+ * the table they started with, and a file that fails to parse leaves the current table in place.
+ */
+@Slf4j
+@Component
+public class ApiKeyRegistry {
+
+    private static final String USER_ROLE = "ROLE_USER";
+    private static final String AGENT_ROLE = "ROLE_AGENT";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(ApiKeyRegistry::newDigest);
+    private static final ThreadLocal<byte[]> DIGEST_BUFFER =
+            ThreadLocal.withInitial(() -> new byte[ApiKeyTable.DIGEST_LENGTH]);
+
+    private final ApiKeyConfig apiKeyConfig;
+    private final Path file;
+    private final AtomicReference<ApiKeyTable> table = new AtomicReference<>();
+    private FileTime checkedModifiedTime;
+    private ScheduledExecutorService reloader;
+
+    public ApiKeyRegistry(ApiKeyConfig apiKeyConfig) {
+        this.apiKeyConfig = apiKeyConfig;
+        this.file = apiKeyConfig.getFile() == null || apiKeyConfig.getFile().isBlank()
+                ? null
+                : Path.of(apiKeyConfig.getFile());
+        if (!reload()) {
+            throw new IllegalStateException("Could not load the API keys from " + file);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        long interval = apiKeyConfig.getReloadInterval().toMillis();
+        if (file == null || interval <= 0) {
+            return;
+        }
+        reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "api-key-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reloader.scheduleWithFixedDelay(this::reloadIfModified, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    /**
+     * Looks up the API key of a request.
+     * The returned Authentication is shared by every request made with the same key.
+     *
+     * @param apiKey the key presented by the client
+     * @return the Authentication of the key, or null if the key is unknown
+     */
+    public Authentication authenticate(String apiKey) {
+        if (apiKey == null || apiKey.isEmpty()) {
+            return null;
+        }
+        return table.get().find(digest(apiKey, DIGEST_BUFFER.get()));
+    }
+
+    /**
+     * Returns the number of keys currently accepted.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return table.get().size();
+    }
+
+    /*
+     * Reloads the key file if its modification time changed since the last attempt, so a broken
+     * file is reported once rather than on every poll.
+     */
+    synchronized void reloadIfModified() {
+        try {
+            FileTime modifiedTime = Files.getLastModifiedTime(file);
+            if (!modifiedTime.equals(checkedModifiedTime)) {
+                checkedModifiedTime = modifiedTime;
+                reload();
+            }
+        } catch (IOException e) {
+            log.error("Cannot read API key file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /*
+     * Builds a new table from the configured keys and the key file, and swaps it in.
+     * Returns false, keeping the current table, if the file cannot be read or parsed.
+     */
+    synchronized boolean reload() {
+        List<ApiKeyTable.Entry> entries = new ArrayList<>();
+        entries.add(new ApiKeyTable.Entry("user", USER_ROLE, digest(apiKeyConfig.getUser(), new byte[ApiKeyTable.DIGEST_LENGTH])));
+        entries.add(new ApiKeyTable.Entry("agent", AGENT_ROLE, digest(apiKeyConfig.getAgent(), new byte[ApiKeyTable.DIGEST_LENGTH])));
+        try {
+            if (file != null) {
+                checkedModifiedTime = Files.getLastModifiedTime(file);
+                entries.addAll(parse(Files.readAllLines(file, StandardCharsets.UTF_8)));
+            }
+            table.set(ApiKeyTable.of(entries));
+            log.info("Loaded {} API keys", entries.size());
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Cannot load API key file {}, keeping {} keys: {}", file,
+                    table.get() == null ? 0 : table.get().size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static List<ApiKeyTable.Entry> parse(List<String> lines) {
+        List<ApiKeyTable.Entry> entries = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": expected name,role,sha256");
+            }
+            String role = "ROLE_" + fields[1].trim().toUpperCase(Locale.ROOT);
+            if (!role.equals(USER_ROLE) && !role.equals(AGENT_ROLE)) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": unknown role " + fields[1].trim());
+            }
+            byte[] digest;
+            try {
+                digest = HexFormat.of().parseHex(fields[2].trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": invalid SHA-256 digest");
+            }
+            if (digest.length != ApiKeyTable.DIGEST_LENGTH) {
+                throw new IllegalArgumentException("Line " + (i + 1) + ": invalid SHA-256 digest");
+            }
+            entries.add(new ApiKeyTable.Entry(fields[0].trim(), role, digest));
+        }
+        return entries;
+    }
+
+    private static byte[] digest(String apiKey, byte[] output) {
+        MessageDigest sha256 = SHA_256.get();
+        sha256.update(apiKey.getBytes(StandardCharsets.UTF_8));
+        try {
+            sha256.digest(output, 0, output.length);
+        } catch (DigestException e) {
+            throw new IllegalStateException(e);
+        }
+        return output;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.assignment.ticketing.security;
+
+import java.util.List;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/*
+ * Immutable open-addressing hash table from SHA-256 key digests to pre-built Authentication objects.
+ * Slots are located by the first 8 bytes of the digest with linear probing; the table is at most
+ * half full, so a lookup touches one or two slots. Candidate digests are compared in constant time.
+ */
+final class ApiKeyTable {
+
+    static final int DIGEST_LENGTH = 32;
+
+    private final int mask;
+    private final long[] prefixes;
+    private final byte[] digests;
+    private final Authentication[] authentications;
+    private final int size;
+
+    private ApiKeyTable(List<Entry> entries) {
+        int capacity = Integer.highestOneBit(Math.max(entries.size(), 1) * 2 - 1) << 1;
+        this.mask = capacity - 1;
+        this.prefixes = new long[capacity];
+        this.digests = new byte[capacity * DIGEST_LENGTH];
+        this.authentications = new Authentication[capacity];
+        this.size = entries.size();
+        for (Entry entry : entries) {
+            insert(entry);
+        }
+    }
+
+    /**
+     * Builds a table from digested keys.
+     *
+     * @param entries the keys with their names and roles
+     * @return the table
+     * @throws IllegalArgumentException if two entries have the same key
+     */
+    static ApiKeyTable of(List<Entry> entries) {
+        return new ApiKeyTable(entries);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /*
+     * Returns the shared Authentication of the key with this digest, or null if the key is unknown.
+     */
+    Authentication find(byte[] digest) {
+        long prefix = prefix(digest);
+        for (int slot = (int) prefix & mask; authentications[slot] != null; slot = (slot + 1) & mask) {
+            if (prefixes[slot] == prefix && equalsAt(slot, digest)) {
+                return authentications[slot];
+            }
+        }
+        return null;
+    }
+
+    private void insert(Entry entry) {
+        long prefix = prefix(entry.digest());
+        int slot = (int) prefix & mask;
+        while (authentications[slot] != null) {
+            if (prefixes[slot] == prefix && equalsAt(slot, entry.digest())) {
+                throw new IllegalArgumentException("Duplicate API key for " + entry.name());
+            }
+            slot = (slot + 1) & mask;
+        }
+        prefixes[slot] = prefix;
+        System.arraycopy(entry.digest(), 0, digests, slot * DIGEST_LENGTH, DIGEST_LENGTH);
+        authentications[slot] = new UsernamePasswordAuthenticationToken(
+                entry.name(), null, List.of(new SimpleGrantedAuthority(entry.role())));
+    }
+
+    private boolean equalsAt(int slot, byte[] digest) {
+        int offset = slot * DIGEST_LENGTH;
+        int difference = 0;
+        for (int i = 0; i < DIGEST_LENGTH; i++) {
+            difference |= digests[offset + i] ^ digest[i];
+        }
+        return difference == 0;
+    }
+
+    private static long prefix(byte[] digest) {
+        long prefix = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            prefix = (prefix << 8) | (digest[i] & 0xFF);
+        }
+        return prefix;
+    }
+
+    /**
+     * A key of the registry.
+     *
+     * @param name   the integration the key belongs to, used as the principal name
+     * @param role   the granted authority, e.g. ROLE_AGENT
+     * @param digest the SHA-256 digest of the key
+     */
+    record Entry(String name, String role, byte[] digest) {}
+}
@@ -0,0 +1,119 @@
+package com.assignment.ticketing.service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.assignment.ticketing.config.AssignmentConfig;
+import com.assignment.ticketing.model.domain.AgentLoad;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.repository.TicketRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class AssignmentService {
+
+    private static final Comparator<AgentLoad> LEAST_LOADED = Comparator
+            .comparingInt(AgentLoad::activeTickets)
+            .thenComparing(AgentLoad::agentId);
+
+    // Ordered by load so the least loaded agent is always first; both structures are guarded by this.
+    private final TreeSet<AgentLoad> queue = new TreeSet<>(LEAST_LOADED);
+    private final Map<String, AgentLoad> loads = new HashMap<>();
+
+    public AssignmentService(AssignmentConfig assignmentConfig) {
+        assignmentConfig.getAgents().stream()
+                .map(String::trim)
+                .filter(agentId -> !agentId.isEmpty())
+                .distinct()
+                .forEach(agentId -> {
+                    AgentLoad load = new AgentLoad(agentId, 0);
+                    queue.add(load);
+                    loads.put(agentId, load);
+                });
+        log.info("Assignment enabled for {} agents", loads.size());
+    }
+
+    /*
+     * Starts from the active tickets already assigned in the repository, so that the loads stay
+     * right when the service starts on a store that is not empty.
+     */
+    @Autowired
+    public AssignmentService(AssignmentConfig assignmentConfig, TicketRepository ticketRepository) {
+        this(assignmentConfig);
+        Map<String, Integer> active = new HashMap<>();
+        for (Ticket ticket : ticketRepository.findByFilter(null, null, null)) {
+            if (ticket.getAssigneeId() != null && ticket.getStatus() != null && ticket.getStatus().isActive()) {
+                active.merge(ticket.getAssigneeId(), 1, Integer::sum);
+            }
+        }
+        active.forEach(this::addLoad);
+        log.info("Agent loads seeded from {} active tickets", active.values().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    /**
+     * Picks the agent with the fewest active tickets and increments its load.
+     * Runs in O(log n) for n agents.
+     *
+     * @return an Optional containing the selected agent ID, or empty if no agents are configured
+     */
+    public synchronized Optional<String> assign() {
+        AgentLoad least = queue.pollFirst();
+        if (least == null)
+            return Optional.empty();
+        AgentLoad next = least.increment();
+        queue.add(next);
+        loads.put(next.agentId(), next);
+        return Optional.of(next.agentId());
+    }
+
+    /**
+     * Decrements the load of an agent once one of its tickets is no longer active.
+     * Unknown agents (e.g. manually assigned ones) are ignored.
+     *
+     * @param agentId the ID of the agent to release a ticket from
+     */
+    public synchronized void release(String agentId) {
+        AgentLoad current = agentId == null ? null : loads.get(agentId);
+        if (current == null || current.activeTickets() == 0)
+            return;
+        queue.remove(current);
+        AgentLoad next = current.decrement();
+        queue.add(next);
+        loads.put(agentId, next);
+    }
+
+    /**
+     * Adds already assigned active tickets to an agent's load, e.g. after a bulk import.
+     * Unknown agents are ignored.
+     *
+     * @param agentId the ID of the agent
+     * @param tickets the number of active tickets to add
+     */
+    public synchronized void addLoad(String agentId, int tickets) {
+        AgentLoad current = agentId == null ? null : loads.get(agentId);
+        if (current == null || tickets <= 0)
+            return;
+        queue.remove(current);
+        AgentLoad next = new AgentLoad(agentId, current.activeTickets() + tickets);
+        queue.add(next);
+        loads.put(agentId, next);
+    }
+
+    /**
+     * Returns the current load of every agent, least loaded first.
+     *
+     * @return a snapshot of the agent loads
+     */
+    public synchronized List<AgentLoad> getLoads() {
+        return List.copyOf(queue);
+    }
+}
@@ -0,0 +1,108 @@
+package com.assignment.ticketing.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.assignment.ticketing.repository.TicketQuery;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * Single-flight for ticket listings: while a listing is being computed, identical requests (same
+ * query and same roles, since roles change what the listing contains) wait for it and receive the
+ * same serialized body instead of querying, mapping and serializing again.
+ *
+ * Nothing is cached: the entry is dropped as soon as the computation ends, so a request always sees
+ * data at least as fresh as the moment the shared computation started.
+ * Collapsed requests are counted by ticketing.tickets.list.requests{outcome=coalesced}.
+ */
+@Component
+public class TicketListCoalescer {
+
+    private final Map<Key, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public TicketListCoalescer(MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("ticketing.tickets.list.requests")
+                .description("Ticket listings by whether they ran the query or shared an identical in-flight one")
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("ticketing.tickets.list.requests")
+                .description("Ticket listings by whether they ran the query or shared an identical in-flight one")
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("ticketing.tickets.list.in-flight", inFlight, Map::size)
+                .description("Distinct ticket listings being computed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the listing on the calling thread, or waits for an identical one already in flight.
+     * A failure of the shared computation, including an Error, is rethrown to every waiting request.
+     *
+     * @param query       the listing criteria
+     * @param computation queries, maps and serializes the listing
+     * @return the serialized listing, shared between coalesced requests and not to be modified
+     */
+    public byte[] execute(TicketQuery query, Supplier<byte[]> computation) {
+        Key key = new Key(query, currentRoles());
+        CompletableFuture<byte[]> own = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        executed.increment();
+        try {
+            byte[] body = computation.get();
+            own.complete(body);
+            return body;
+        } catch (Throwable e) {
+            // Whatever escapes, the waiters must be released: they would otherwise block forever.
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private byte[] await(CompletableFuture<byte[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private List<String> currentRoles() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return List.of();
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .toList();
+    }
+
+    private record Key(TicketQuery query, List<String> roles) {}
+}
@@ -3,13 +3,18 @@ package com.assignment.ticketing.service;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import com.assignment.ticketing.exception.TicketVersionConflictException;
 import com.assignment.ticketing.model.enums.TicketStatus;
 import com.assignment.ticketing.model.enums.CommentVisibility;
 import com.assignment.ticketing.model.domain.Comment;
 import com.assignment.ticketing.model.domain.Ticket;
 
 
+import com.assignment.ticketing.repository.TicketQuery;
 import com.assignment.ticketing.repository.TicketRepository;
+import com.assignment.ticketing.sla.SlaScheduler;
+import com.assignment.ticketing.webhook.TicketEvent;
+import com.assignment.ticketing.webhook.WebhookDispatcher;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -24,14 +29,23 @@ import java.util.stream.Collectors;
 public class TicketService {
 
     private final TicketRepository ticketRepository;
+    private final AssignmentService assignmentService;
+    private final SlaScheduler slaScheduler;
+    private final WebhookDispatcher webhookDispatcher;
 
-    public TicketService(TicketRepository ticketRepository) {
+    public TicketService(TicketRepository ticketRepository, AssignmentService assignmentService,
+            SlaScheduler slaScheduler, WebhookDispatcher webhookDispatcher) {
         this.ticketRepository = ticketRepository;
+        this.assignmentService = assignmentService;
+        this.slaScheduler = slaScheduler;
+        this.webhookDispatcher = webhookDispatcher;
     }
 
 
     /**
-     * Creates a new ticket with the status set to OPEN.
+     * Creates a new ticket with the status set to OPEN and assigns it to the least loaded agent.
+     * The agent's load is released again if the ticket cannot be saved.
+     * Arms the SLA timer of the OPEN status and notifies the webhooks.
      *
      * @param ticket the ticket to be created
      * @return the created ticket
@@ -39,7 +53,18 @@ public class TicketService {
     public Ticket createTicket(Ticket ticket) {
         log.info("Creating ticket with subject: {}", ticket.getSubject());
         ticket.setStatus(TicketStatus.OPEN);
-        return ticketRepository.save(ticket);
+        Optional<String> assignee = assignmentService.assign();
+        assignee.ifPresent(ticket::setAssigneeId);
+        Ticket saved;
+        try {
+            saved = ticketRepository.save(ticket);
+        } catch (RuntimeException e) {
+            assignee.ifPresent(assignmentService::release);
+            throw e;
+        }
+        slaScheduler.arm(saved);
+        webhookDispatcher.publish(TicketEvent.created(saved));
+        return saved;
     }
 
     /**
@@ -51,21 +76,29 @@ public class TicketService {
      * @return a list of tickets matching the filters
      */
     public List<Ticket> getTickets(String status, String userId, String assigneeId) {
+        return getTickets(TicketQuery.filter(status, userId, assigneeId));
+    }
+
+    /**
+     * Retrieves the tickets matching a query, optionally bounded in time, sorted and limited.
+     * Users only see the public comments of each ticket.
+     *
+     * @param query the filters, ordering and limit
+     * @return a list of tickets matching the query, in the requested order
+     */
+    public List<Ticket> getTickets(TicketQuery query) {
         if(isCurrentUserAgent()) {
-            log.info("Fetching tickets as an agent with status: {}, userId: {}, assigneeId: {}", status, userId, assigneeId);
-            return ticketRepository.findByFilter(status, userId, assigneeId);
+            log.info("Fetching tickets as an agent with {}", query);
+            return ticketRepository.findByQuery(query);
         } else {
-            log.info("Fetching tickets as a user with status: {}, userId: {}, assigneeId: {}", status, userId, assigneeId);
-            return ticketRepository.findByFilter(status, userId, assigneeId).stream()
-                .map(ticket -> {
-                    ticket.setComments(
+            log.info("Fetching tickets as a user with {}", query);
+            return ticketRepository.findByQuery(query).stream()
+                .map(ticket -> ticket.withComments(
                         ticket.getComments().stream()
                             .filter(c -> c.getVisibility().isVisibleToUser())
                             .sorted(Comparator.comparing(Comment::getCreatedAt))
                             .collect(Collectors.toCollection(ArrayList::new))
-                    );
-                    return ticket;
-                })
+                ))
                 .toList();
         }
     }
@@ -78,18 +111,57 @@ public class TicketService {
      * @return an Optional containing the updated ticket if found, or empty if not found
      */
     public Optional<Ticket> updateTicketStatus(Long ticketId, TicketStatus newStatus) {
+        return updateTicketStatus(ticketId, newStatus, null);
+    }
+
+    /**
+     * Updates the status of a ticket with a compare-and-set on its current status and, optionally, its version.
+     * Without an expected version, a transition that loses a race is re-validated against the latest ticket.
+     * Releases the assignee's load when the ticket leaves the active statuses and
+     * re-arms the SLA timer for the new status, then notifies the webhooks.
+     *
+     * @param ticketId         the ID of the ticket to update
+     * @param newStatus        the new status to set for the ticket
+     * @param expectedVersion  the version the client last saw (optional)
+     * @return an Optional containing the updated ticket if found, or empty if not found
+     * @throws TicketVersionConflictException if the ticket no longer has the expected version
+     */
+    public Optional<Ticket> updateTicketStatus(Long ticketId, TicketStatus newStatus, Long expectedVersion) {
         log.info("Updating ticket status for ticketId: {} to newStatus: {}", ticketId, newStatus);
-        return ticketRepository.findById(ticketId).map(ticket -> {
-            if (!ticket.getStatus().canTransitionTo(newStatus)) {
-                throw new IllegalArgumentException("Invalid status transition: " + ticket.getStatus() + " → " + newStatus);
+        while (true) {
+            Optional<Ticket> current = ticketRepository.findById(ticketId);
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+            Ticket ticket = current.get();
+            if (expectedVersion != null && ticket.getVersion() != expectedVersion) {
+                throw new TicketVersionConflictException(ticketId, ticket.getVersion());
             }
-            ticket.setStatus(newStatus);
-            return ticketRepository.save(ticket);
-        });
+            TicketStatus previousStatus = ticket.getStatus();
+            if (!previousStatus.canTransitionTo(newStatus)) {
+                throw new IllegalArgumentException("Invalid status transition: " + previousStatus + " → " + newStatus);
+            }
+            try {
+                Optional<Ticket> updated = ticketRepository.transitionStatus(ticketId, previousStatus, newStatus, expectedVersion);
+                updated.ifPresent(saved -> {
+                    if (previousStatus.isActive() && !newStatus.isActive()) {
+                        assignmentService.release(saved.getAssigneeId());
+                    }
+                    slaScheduler.arm(saved);
+                    webhookDispatcher.publish(TicketEvent.statusChanged(saved, previousStatus));
+                });
+                return updated;
+            } catch (TicketVersionConflictException e) {
+                if (expectedVersion != null) {
+                    throw e;
+                }
+                log.info("Concurrent update on ticketId: {}, retrying status transition", ticketId);
+            }
+        }
     }
 
     /**
-     * Adds a comment to a ticket.
+     * Adds a comment to a ticket and notifies the webhooks.
      *
      * @param ticketId  the ID of the ticket to add the comment to
      * @param comment   the comment to be added
@@ -102,7 +174,29 @@ public class TicketService {
             throw new IllegalArgumentException("User comments must be public");
         }
         log.info("Adding comment to ticketId: {} with visibility: {}", ticketId, comment.getVisibility());
-        return ticketRepository.addComment(ticketId, comment);
+        return writeComment(ticketId, comment);
+    }
+
+    /**
+     * Adds a comment written by the service itself, such as an SLA escalation, and notifies the webhooks.
+     * Like any comment it bumps the ticket version, so a client holding the previous ETag
+     * gets 412 on its next conditional update and has to fetch the ticket again.
+     *
+     * @param ticketId  the ID of the ticket to add the comment to
+     * @param comment   the comment to be added
+     * @return an Optional containing the added comment if successful, or empty if the ticket does not exist
+     */
+    public Optional<Comment> addSystemComment(Long ticketId, Comment comment) {
+        log.info("Adding {} comment to ticketId: {} from {}", comment.getVisibility(), ticketId, comment.getAuthorId());
+        return writeComment(ticketId, comment);
+    }
+
+    private Optional<Comment> writeComment(Long ticketId, Comment comment) {
+        return ticketRepository.addComment(ticketId, comment)
+                .map(ticket -> {
+                    webhookDispatcher.publish(TicketEvent.commentAdded(ticket, comment));
+                    return comment;
+                });
     }
 
     /**
@@ -0,0 +1,229 @@
+package com.assignment.ticketing.sla;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hashed timing wheel: timers are hashed by deadline into a fixed ring of buckets, each bucket
+ * holding a doubly linked list of timeouts together with the number of full rotations left.
+ * <p>
+ * {@link #schedule} and {@link Timeout#cancel} may be called from any thread and are O(1): they only
+ * enqueue the timeout (or its cancellation) on a lock-free queue. All bucket manipulation happens on
+ * the single thread calling {@link #advance()}, which drains those queues once per tick.
+ */
+@Slf4j
+public class HashedTimingWheel {
+
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingCount = new AtomicLong();
+    private volatile long tick;
+
+    /**
+     * Creates a wheel with the given number of buckets, rounded up to the next power of two.
+     *
+     * @param ticksPerWheel the number of buckets in the wheel
+     */
+    public HashedTimingWheel(int ticksPerWheel) {
+        if (ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("ticksPerWheel must be positive: " + ticksPerWheel);
+        }
+        int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        size = Math.max(size, 1);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Schedules a task to run once the wheel has advanced by the given number of ticks.
+     *
+     * @param task       the task to run on expiry, executed on the advancing thread
+     * @param delayTicks the number of ticks to wait (values below 1 fire on the next tick)
+     * @return a handle that can be used to cancel the task
+     */
+    public Timeout schedule(Runnable task, long delayTicks) {
+        Timeout timeout = new Timeout(this, task, tick + Math.max(delayTicks, 1));
+        pendingCount.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Moves the wheel forward by one tick and runs every task that became due.
+     * Must only be called from a single thread.
+     *
+     * @return the number of tasks that expired during this tick
+     */
+    public int advance() {
+        long current = tick + 1;
+        tick = current;
+        removeCancelledTimeouts();
+        transferPendingTimeouts(current);
+        return wheel[(int) (current & mask)].expireTimeouts();
+    }
+
+    /**
+     * Returns the number of timeouts that are scheduled and neither expired nor cancelled.
+     *
+     * @return the number of pending timeouts
+     */
+    public long pendingTimeouts() {
+        return pendingCount.get();
+    }
+
+    private void transferPendingTimeouts(long current) {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long remaining = timeout.deadline - current;
+            if (remaining <= 0) {
+                timeout.remainingRounds = 0;
+                wheel[(int) (current & mask)].add(timeout);
+            } else {
+                timeout.remainingRounds = remaining / wheel.length;
+                wheel[(int) (timeout.deadline & mask)].add(timeout);
+            }
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * Handle to a scheduled task.
+     */
+    public static final class Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final HashedTimingWheel timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+
+        // Only accessed by the advancing thread.
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout prev;
+        private Bucket bucket;
+
+        private Timeout(HashedTimingWheel timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the task if it has not run yet.
+         *
+         * @return true if the task was cancelled, false if it already expired or was cancelled
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timer.pendingCount.decrementAndGet();
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        private boolean expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return false;
+            }
+            timer.pendingCount.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.error("Timer task failed: {}", t.getMessage(), t);
+            }
+            return true;
+        }
+    }
+
+    /*
+     * Doubly linked list of the timeouts hashed to one slot of the wheel.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        int expireTimeouts() {
+            int expired = 0;
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.expire()) {
+                        expired++;
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+            return expired;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
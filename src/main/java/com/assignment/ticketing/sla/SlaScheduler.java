@@ -0,0 +1,137 @@
+package com.assignment.ticketing.sla;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.assignment.ticketing.config.SlaConfig;
+import com.assignment.ticketing.model.domain.Comment;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.CommentVisibility;
+import com.assignment.ticketing.model.enums.TicketStatus;
+import com.assignment.ticketing.repository.TicketRepository;
+import com.assignment.ticketing.service.TicketService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class SlaScheduler {
+
+    static final String ESCALATION_AUTHOR = "sla-scheduler";
+
+    private final TicketRepository ticketRepository;
+    // Looked up lazily: TicketService arms the timers, and escalations go back through it.
+    private final ObjectProvider<TicketService> ticketService;
+    private final Map<TicketStatus, Duration> slas = new EnumMap<>(TicketStatus.class);
+    private final long tickMillis;
+    private final HashedTimingWheel wheel;
+    private final Map<Long, HashedTimingWheel.Timeout> timers = new ConcurrentHashMap<>();
+    private ScheduledExecutorService ticker;
+
+    public SlaScheduler(TicketRepository ticketRepository, ObjectProvider<TicketService> ticketService,
+            SlaConfig slaConfig) {
+        this.ticketRepository = ticketRepository;
+        this.ticketService = ticketService;
+        this.tickMillis = Math.max(slaConfig.getTick().toMillis(), 1);
+        this.wheel = new HashedTimingWheel(slaConfig.getWheelSize());
+        putSla(TicketStatus.OPEN, slaConfig.getOpen());
+        putSla(TicketStatus.IN_PROGRESS, slaConfig.getInProgress());
+    }
+
+    @PostConstruct
+    void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sla-timing-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(wheel::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("SLA scheduler started with SLAs {} and a tick of {} ms", slas, tickMillis);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * Arms the SLA timer for the ticket's current status, cancelling the timer of its previous status.
+     * Statuses without an SLA only cancel the previous timer.
+     *
+     * @param ticket the ticket that just entered its current status
+     */
+    public void arm(Ticket ticket) {
+        TicketStatus status = ticket.getStatus();
+        Duration sla = slas.get(status);
+        Long ticketId = ticket.getTicketId();
+        timers.compute(ticketId, (id, previous) -> {
+            if (previous != null) {
+                previous.cancel();
+            }
+            if (sla == null) {
+                return null;
+            }
+            long delayTicks = (sla.toMillis() + tickMillis - 1) / tickMillis;
+            return wheel.schedule(() -> escalate(id, status, sla), delayTicks);
+        });
+    }
+
+    /**
+     * Cancels the pending SLA timer of a ticket, if any.
+     *
+     * @param ticketId the ID of the ticket
+     */
+    public void cancel(Long ticketId) {
+        HashedTimingWheel.Timeout timeout = timers.remove(ticketId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Returns the number of armed SLA timers.
+     *
+     * @return the number of pending timers
+     */
+    public long pendingTimers() {
+        return wheel.pendingTimeouts();
+    }
+
+    /*
+     * Adds an internal comment to a ticket that stayed in a status longer than its SLA.
+     * The comment goes through TicketService like any other, so it bumps the version and notifies the webhooks.
+     * Runs on the timing wheel thread.
+     */
+    void escalate(Long ticketId, TicketStatus status, Duration sla) {
+        timers.computeIfPresent(ticketId, (id, timeout) -> timeout.isExpired() ? null : timeout);
+        ticketRepository.findById(ticketId)
+                .filter(ticket -> ticket.getStatus() == status)
+                .ifPresent(ticket -> {
+                    log.warn("SLA breached for ticketId: {} in status: {} after {}", ticketId, status, sla);
+                    Comment comment = new Comment();
+                    comment.setTicketId(ticketId);
+                    comment.setAuthorId(ESCALATION_AUTHOR);
+                    comment.setContent("SLA breached: ticket has been " + status + " for more than " + sla);
+                    comment.setVisibility(CommentVisibility.INTERNAL);
+                    ticketService.getObject().addSystemComment(ticketId, comment);
+                });
+    }
+
+    private void putSla(TicketStatus status, Duration sla) {
+        if (sla != null && !sla.isZero() && !sla.isNegative()) {
+            slas.put(status, sla);
+        }
+    }
+}
@@ -1,43 +1,91 @@
 package com.assignment.ticketing.storage;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import com.assignment.ticketing.exception.TicketVersionConflictException;
 import com.assignment.ticketing.model.domain.Comment;
 import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.TicketStatus;
+import com.assignment.ticketing.repository.ImportedBatch;
+import com.assignment.ticketing.repository.TicketChangeListener;
+import com.assignment.ticketing.repository.TicketQuery;
 import com.assignment.ticketing.repository.TicketRepository;
 
+/*
+ * Stored tickets are never mutated in place: every write goes through ConcurrentHashMap.compute
+ * and publishes a new Ticket instance, so concurrent readers always see a consistent ticket.
+ * Creation and update times are indexed for sorted and time-range listings.
+ * This is the default engine; see SingleWriterStorage for the alternative.
+ */
 @Component
+@ConditionalOnProperty(name = "ticketing.storage.engine", havingValue = "concurrent", matchIfMissing = true)
 public class InMemoryStorage implements TicketRepository {
 
     private final Map<Long, Ticket> tickets = new ConcurrentHashMap<>();
+    private final TicketTimeIndex timeIndex = new TicketTimeIndex();
     private final AtomicLong ticketIdGenerator = new AtomicLong();
     private final AtomicLong commentIdGenerator = new AtomicLong();
+    private final List<TicketChangeListener> listeners;
+
+    public InMemoryStorage() {
+        this.listeners = List.of();
+    }
+
+    @Autowired
+    public InMemoryStorage(ObjectProvider<TicketChangeListener> listeners) {
+        this.listeners = listeners.orderedStream().toList();
+    }
 
     /**
      * Saves a ticket to the in-memory storage.
      * If the ticket does not have an ID, it generates a new ID and sets the created timestamp.
-     * Updates the updated timestamp every time the ticket is saved.
+     * Updates the updated timestamp and increments the version every time the ticket is saved.
+     * The stored ticket is a copy: the argument is never modified, nor kept by the storage.
      *
      * @param ticket the ticket to save
      * @return the saved ticket
      */
     public Ticket save(Ticket ticket) {
-        LocalDateTime now = LocalDateTime.now();
-        if (ticket.getTicketId() == null) {
-            Long id = ticketIdGenerator.incrementAndGet();
-            ticket.setTicketId(id);
-            ticket.setCreatedAt(now);
-        }
-        ticket.setUpdatedAt(now);
-        tickets.put(ticket.getTicketId(), ticket);
-        return ticket;
+        Long requestedId = ticket.getTicketId();
+        AtomicReference<Ticket> created = new AtomicReference<>();
+        Ticket saved;
+        do {
+            // A concurrent import may have stored a ticket under the generated ID: leave it and take the next one.
+            long id = requestedId != null ? requestedId : ticketIdGenerator.incrementAndGet();
+            saved = update(id, (key, current) -> {
+                if (requestedId == null && current != null) {
+                    return current;
+                }
+                LocalDateTime now = LocalDateTime.now();
+                LocalDateTime createdAt = ticket.getCreatedAt() != null ? ticket.getCreatedAt()
+                        : current != null ? current.getCreatedAt()
+                        : now;
+                created.set(ticket.withComments(new ArrayList<>(ticket.getComments()))
+                        .withTicketId(key)
+                        .withCreatedAt(createdAt)
+                        .withUpdatedAt(now)
+                        .withVersion(current == null ? 1 : current.getVersion() + 1));
+                return created.get();
+            });
+        } while (saved != created.get());
+        notifyListeners(saved);
+        return saved;
     }
 
     /**
@@ -51,39 +99,225 @@ public class InMemoryStorage implements TicketRepository {
     }
 
     /**
-     * Finds tickets based on the provided filters.
-     * Filters by status, userId, and assigneeId.
+     * Finds tickets matching a query.
+     * Sorted and time-bounded queries walk the time index and stop at the limit; others scan every ticket.
      *
-     * @param status      the status of the tickets to filter by (optional)
-     * @param userId      the ID of the user who created the tickets (optional)
-     * @param assigneeId  the ID of the agent assigned to the tickets (optional)
-     * @return a list of tickets matching the filters
+     * @param query the filters, ordering and limit
+     * @return a list of tickets matching the query
      */
-    public List<Ticket> findByFilter(String status, String userId, String assigneeId) {
-        return tickets.values().stream()
-                .filter(ticket -> (status == null || ticket.getStatus().name().equalsIgnoreCase(status)) &&
-                        (userId == null || ticket.getUserId().equals(userId)) &&
-                        (assigneeId == null || ticket.getAssigneeId().equals(assigneeId)))
-                .toList();
+    public List<Ticket> findByQuery(TicketQuery query) {
+        return query.isOrdered()
+                ? timeIndex.find(query, tickets::get)
+                : TicketTimeIndex.scan(query, tickets.values());
     }
 
     /**
      * Adds a comment to a ticket.
-     * Generates a new comment ID, sets the created timestamp, and updates the ticket's updated timestamp.
+     * Generates a new comment ID, sets the created timestamp, and updates the ticket's updated timestamp and version.
      *
      * @param ticketId the ID of the ticket to add the comment to
      * @param comment  the comment to add
-     * @return an Optional containing the added comment if successful, or empty if the ticket does not exist
+     * @return an Optional containing the ticket version with the comment, or empty if the ticket does not exist
+     */
+    public Optional<Ticket> addComment(Long ticketId, Comment comment) {
+        Ticket updated = update(ticketId, (id, current) -> {
+            if (current == null) {
+                return null;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            comment.setCommentId(commentIdGenerator.incrementAndGet());
+            comment.setTicketId(id);
+            comment.setCreatedAt(now);
+            List<Comment> comments = new ArrayList<>(current.getComments());
+            comments.add(comment);
+            return current.withComments(comments)
+                    .withUpdatedAt(now)
+                    .withVersion(current.getVersion() + 1);
+        });
+        if (updated != null) {
+            notifyListeners(updated);
+        }
+        return Optional.ofNullable(updated);
+    }
+
+    /**
+     * Atomically moves a ticket from the expected status to the next one.
+     * Fails without modifying the ticket if its status or version changed in the meantime.
+     *
+     * @param id              the ID of the ticket
+     * @param expected        the status the ticket must currently have
+     * @param next            the status to set
+     * @param expectedVersion the version the ticket must currently have, or null to skip the check
+     * @return an Optional containing the updated ticket, or empty if the ticket does not exist
+     */
+    public Optional<Ticket> transitionStatus(Long id, TicketStatus expected, TicketStatus next, Long expectedVersion) {
+        Ticket updated = update(id, (key, current) -> {
+            if (current == null) {
+                return null;
+            }
+            if (current.getStatus() != expected
+                    || (expectedVersion != null && current.getVersion() != expectedVersion)) {
+                throw new TicketVersionConflictException(key, current.getVersion());
+            }
+            return current.withStatus(next)
+                    .withUpdatedAt(LocalDateTime.now())
+                    .withVersion(current.getVersion() + 1);
+        });
+        if (updated != null) {
+            notifyListeners(updated);
+        }
+        return Optional.ofNullable(updated);
+    }
+
+    /**
+     * Stores a ticket state received from another node, keeping its ID, timestamps and version.
+     * The ticket is ignored if the local copy is already at the same or a newer version.
+     * ID generators are advanced past the replicated IDs so this node can take over writes.
+     *
+     * @param ticket the replicated ticket
+     */
+    public void replicate(Ticket ticket) {
+        update(ticket.getTicketId(), (id, current) ->
+                current == null || ticket.getVersion() > current.getVersion() ? ticket : current);
+        ticketIdGenerator.accumulateAndGet(ticket.getTicketId(), Math::max);
+        ticket.getComments().stream()
+                .map(Comment::getCommentId)
+                .filter(Objects::nonNull)
+                .forEach(commentId -> commentIdGenerator.accumulateAndGet(commentId, Math::max));
+    }
+
+    /**
+     * Replaces every ticket with the snapshot, one ticket at a time, then removes the tickets it does not hold.
+     * ID generators restart from the highest IDs of the snapshot. Listeners are not notified.
+     *
+     * @param snapshot every ticket of the other node
      */
-    public Optional<Comment> addComment(Long ticketId, Comment comment) {
-        Ticket ticket = tickets.get(ticketId);
-        if (ticket == null)
-            return Optional.empty();
-        Long commentId = commentIdGenerator.incrementAndGet();
-        comment.setCommentId(commentId);
-        comment.setCreatedAt(LocalDateTime.now());
-        ticket.getComments().add(comment);
-        ticket.setUpdatedAt(comment.getCreatedAt() != null ? comment.getCreatedAt() : LocalDateTime.now());
-        return Optional.of(comment);
+    public void replaceAll(List<Ticket> snapshot) {
+        Set<Long> ids = new HashSet<>();
+        long maxTicketId = 0;
+        long maxCommentId = 0;
+        for (Ticket ticket : snapshot) {
+            update(ticket.getTicketId(), (id, current) -> ticket);
+            ids.add(ticket.getTicketId());
+            maxTicketId = Math.max(maxTicketId, ticket.getTicketId());
+            maxCommentId = Math.max(maxCommentId, maxCommentId(ticket));
+        }
+        for (Long id : tickets.keySet()) {
+            if (!ids.contains(id)) {
+                update(id, (key, current) -> null);
+            }
+        }
+        ticketIdGenerator.set(maxTicketId);
+        commentIdGenerator.set(maxCommentId);
+    }
+
+    /**
+     * Inserts a batch of imported tickets, keeping their IDs, statuses, timestamps and comments.
+     * Missing timestamps default to now, and comments without an ID get a new one.
+     * A ticket with an ID up to replaceableUpTo replaces the existing one, with a version above it;
+     * an existing ticket with a higher ID is kept and the imported one reported as a conflict.
+     *
+     * @param batch           the tickets to insert, each with an ID
+     * @param replaceableUpTo the highest ID of the stored tickets that may be replaced
+     * @return the stored tickets, the tickets they replaced and the conflicts
+     */
+    public ImportedBatch saveAll(List<Ticket> batch, long replaceableUpTo) {
+        LocalDateTime now = LocalDateTime.now();
+        long maxTicketId = 0;
+        long maxCommentId = 0;
+        for (Ticket ticket : batch) {
+            if (ticket.getTicketId() == null) {
+                throw new IllegalArgumentException("Imported tickets must have an ID: " + ticket.getSubject());
+            }
+            maxTicketId = Math.max(maxTicketId, ticket.getTicketId());
+            for (Comment comment : ticket.getComments()) {
+                if (comment.getCommentId() != null) {
+                    maxCommentId = Math.max(maxCommentId, comment.getCommentId());
+                }
+            }
+        }
+        ticketIdGenerator.accumulateAndGet(maxTicketId, Math::max);
+        commentIdGenerator.accumulateAndGet(maxCommentId, Math::max);
+
+        List<Ticket> saved = new ArrayList<>(batch.size());
+        List<Ticket> replaced = new ArrayList<>();
+        List<Ticket> conflicts = new ArrayList<>();
+        for (Ticket ticket : batch) {
+            if (ticket.getCreatedAt() == null) {
+                ticket.setCreatedAt(now);
+            }
+            if (ticket.getUpdatedAt() == null) {
+                ticket.setUpdatedAt(ticket.getCreatedAt());
+            }
+            for (Comment comment : ticket.getComments()) {
+                if (comment.getCommentId() == null) {
+                    comment.setCommentId(commentIdGenerator.incrementAndGet());
+                }
+                if (comment.getCreatedAt() == null) {
+                    comment.setCreatedAt(ticket.getCreatedAt());
+                }
+                comment.setTicketId(ticket.getTicketId());
+            }
+            long version = Math.max(ticket.getVersion(), 1);
+            AtomicReference<Ticket> previous = new AtomicReference<>();
+            Ticket stored = update(ticket.getTicketId(), (id, current) -> {
+                previous.set(current);
+                if (current == null) {
+                    return ticket.withVersion(version);
+                }
+                return id > replaceableUpTo
+                        ? current
+                        : ticket.withVersion(Math.max(version, current.getVersion() + 1));
+            });
+            if (stored == previous.get()) {
+                conflicts.add(ticket);
+                continue;
+            }
+            saved.add(stored);
+            if (previous.get() != null) {
+                replaced.add(previous.get());
+            }
+        }
+        saved.forEach(this::notifyListeners);
+        return new ImportedBatch(saved, replaced, conflicts);
+    }
+
+    public long lastTicketId() {
+        return ticketIdGenerator.get();
+    }
+
+    /*
+     * Applies a write with ConcurrentHashMap.compute and keeps the time index in step: the new version
+     * is indexed before it becomes visible, and the entries of the replaced version are dropped after.
+     */
+    private Ticket update(Long id, BiFunction<Long, Ticket, Ticket> function) {
+        AtomicReference<Ticket> previous = new AtomicReference<>();
+        Ticket updated = tickets.compute(id, (key, current) -> {
+            previous.set(current);
+            Ticket next = function.apply(key, current);
+            if (next != null) {
+                timeIndex.add(next);
+            }
+            return next;
+        });
+        if (previous.get() != updated) {
+            timeIndex.remove(previous.get(), updated);
+        }
+        return updated;
+    }
+
+    private static long maxCommentId(Ticket ticket) {
+        return ticket.getComments().stream()
+                .map(Comment::getCommentId)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .max()
+                .orElse(0);
+    }
+
+    private void notifyListeners(Ticket ticket) {
+        for (TicketChangeListener listener : listeners) {
+            listener.onTicketChanged(ticket);
+        }
     }
 }
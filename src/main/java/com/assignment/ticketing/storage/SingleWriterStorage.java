@@ -0,0 +1,443 @@
+package com.assignment.ticketing.storage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.assignment.ticketing.config.StorageConfig;
+import com.assignment.ticketing.exception.TicketVersionConflictException;
+import com.assignment.ticketing.model.domain.Comment;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.TicketStatus;
+import com.assignment.ticketing.repository.ImportedBatch;
+import com.assignment.ticketing.repository.TicketChangeListener;
+import com.assignment.ticketing.repository.TicketQuery;
+import com.assignment.ticketing.repository.TicketRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Storage engine in which a single writer thread applies every mutation.
+ *
+ * Callers submit commands to a bounded queue (many producers, one consumer) and wait for their result;
+ * a full queue blocks them, which is the backpressure. The writer applies commands in submission order
+ * without any locking or retries, then notifies the change listeners before completing the callers,
+ * so the replication log sees writes in exactly the order they were applied.
+ *
+ * Batching only groups those notifications: the writer drains up to max-batch commands and notifies the
+ * listeners of their changes once all are applied, but each command is applied, and becomes visible to readers,
+ * on its own. A batch is not published atomically and does not make the writes themselves cheaper.
+ *
+ * Readers never wait for the writer: they read the map, whose values are immutable tickets replaced
+ * on every write, so each read sees a consistent, fully applied version of a ticket, even while
+ * the rest of its batch is still being applied.
+ * Enabled with ticketing.storage.engine=single-writer.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ticketing.storage.engine", havingValue = "single-writer")
+public class SingleWriterStorage implements TicketRepository {
+
+    private final Map<Long, Ticket> tickets = new ConcurrentHashMap<>();
+    private final TicketTimeIndex timeIndex = new TicketTimeIndex();
+    private final BlockingQueue<Command<?>> queue;
+    private final int maxBatch;
+    private final List<TicketChangeListener> listeners;
+
+    // Owned by the writer thread.
+    private final List<Ticket> changed = new ArrayList<>();
+    private long lastTicketId;
+    private long lastCommentId;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    SingleWriterStorage(int queueCapacity, int maxBatch, List<TicketChangeListener> listeners) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(queueCapacity, 1));
+        this.maxBatch = Math.max(maxBatch, 1);
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Autowired
+    public SingleWriterStorage(StorageConfig storageConfig, ObjectProvider<TicketChangeListener> listeners) {
+        this(storageConfig.getQueueCapacity(), storageConfig.getMaxBatch(), listeners.orderedStream().toList());
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("storage-writer").daemon().start(this::run);
+        log.info("Single-writer storage started with a queue of {} commands and batches of {}",
+                queue.remainingCapacity(), maxBatch);
+    }
+
+    /*
+     * Stops accepting commands, lets the writer apply what is already queued, and fails whatever is left.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join();
+        }
+        Command<?> command;
+        while ((command = queue.poll()) != null) {
+            command.reject();
+        }
+    }
+
+    /**
+     * Saves a ticket through the writer thread.
+     * If the ticket does not have an ID, it generates a new ID and sets the created timestamp.
+     * Updates the updated timestamp and increments the version every time the ticket is saved.
+     * The stored ticket is a copy: the argument is never modified, nor kept by the storage.
+     *
+     * @param ticket the ticket to save
+     * @return the saved ticket
+     */
+    public Ticket save(Ticket ticket) {
+        return submit(() -> {
+            long id = ticket.getTicketId() != null ? ticket.getTicketId() : ++lastTicketId;
+            Ticket current = tickets.get(id);
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime createdAt = ticket.getCreatedAt() != null ? ticket.getCreatedAt()
+                    : current != null ? current.getCreatedAt()
+                    : now;
+            return publish(ticket.withComments(new ArrayList<>(ticket.getComments()))
+                    .withTicketId(id)
+                    .withCreatedAt(createdAt)
+                    .withUpdatedAt(now)
+                    .withVersion(current == null ? 1 : current.getVersion() + 1));
+        });
+    }
+
+    /**
+     * Finds a ticket by its ID without waiting for pending writes.
+     *
+     * @param id the ID of the ticket
+     * @return an Optional containing the ticket if found, or empty if not found
+     */
+    public Optional<Ticket> findById(Long id) {
+        return Optional.ofNullable(tickets.get(id));
+    }
+
+    /**
+     * Finds tickets matching a query, without waiting for pending writes.
+     * Sorted and time-bounded queries walk the time index and stop at the limit; others scan every ticket.
+     *
+     * @param query the filters, ordering and limit
+     * @return a list of tickets matching the query
+     */
+    public List<Ticket> findByQuery(TicketQuery query) {
+        return query.isOrdered()
+                ? timeIndex.find(query, tickets::get)
+                : TicketTimeIndex.scan(query, tickets.values());
+    }
+
+    /**
+     * Adds a comment to a ticket through the writer thread.
+     * Generates a new comment ID, sets the created timestamp, and updates the ticket's updated timestamp and version.
+     *
+     * @param ticketId the ID of the ticket to add the comment to
+     * @param comment  the comment to add
+     * @return an Optional containing the ticket version with the comment, or empty if the ticket does not exist
+     */
+    public Optional<Ticket> addComment(Long ticketId, Comment comment) {
+        return submit(() -> {
+            Ticket current = tickets.get(ticketId);
+            if (current == null) {
+                return Optional.empty();
+            }
+            LocalDateTime now = LocalDateTime.now();
+            comment.setCommentId(++lastCommentId);
+            comment.setTicketId(ticketId);
+            comment.setCreatedAt(now);
+            List<Comment> comments = new ArrayList<>(current.getComments());
+            comments.add(comment);
+            return Optional.of(publish(current.withComments(comments)
+                    .withUpdatedAt(now)
+                    .withVersion(current.getVersion() + 1)));
+        });
+    }
+
+    /**
+     * Moves a ticket from the expected status to the next one through the writer thread.
+     * Fails without modifying the ticket if its status or version changed in the meantime.
+     *
+     * @param id              the ID of the ticket
+     * @param expected        the status the ticket must currently have
+     * @param next            the status to set
+     * @param expectedVersion the version the ticket must currently have, or null to skip the check
+     * @return an Optional containing the updated ticket, or empty if the ticket does not exist
+     */
+    public Optional<Ticket> transitionStatus(Long id, TicketStatus expected, TicketStatus next, Long expectedVersion) {
+        return submit(() -> {
+            Ticket current = tickets.get(id);
+            if (current == null) {
+                return Optional.empty();
+            }
+            if (current.getStatus() != expected
+                    || (expectedVersion != null && current.getVersion() != expectedVersion)) {
+                throw new TicketVersionConflictException(id, current.getVersion());
+            }
+            return Optional.of(publish(current.withStatus(next)
+                    .withUpdatedAt(LocalDateTime.now())
+                    .withVersion(current.getVersion() + 1)));
+        });
+    }
+
+    /**
+     * Stores a ticket state received from another node, keeping its ID, timestamps and version.
+     * The ticket is ignored if the local copy is already at the same or a newer version.
+     * ID generators are advanced past the replicated IDs so this node can take over writes.
+     *
+     * @param ticket the replicated ticket
+     */
+    public void replicate(Ticket ticket) {
+        submit(() -> {
+            Ticket current = tickets.get(ticket.getTicketId());
+            if (current == null || ticket.getVersion() > current.getVersion()) {
+                store(ticket);
+            }
+            lastTicketId = Math.max(lastTicketId, ticket.getTicketId());
+            ticket.getComments().stream()
+                    .map(Comment::getCommentId)
+                    .filter(Objects::nonNull)
+                    .forEach(commentId -> lastCommentId = Math.max(lastCommentId, commentId));
+            return null;
+        });
+    }
+
+    /**
+     * Replaces every ticket with the snapshot as a single command, then removes the tickets it does not hold.
+     * ID generators restart from the highest IDs of the snapshot. Listeners are not notified.
+     *
+     * @param snapshot every ticket of the other node
+     */
+    public void replaceAll(List<Ticket> snapshot) {
+        submit(() -> {
+            Set<Long> ids = new HashSet<>();
+            lastTicketId = 0;
+            lastCommentId = 0;
+            for (Ticket ticket : snapshot) {
+                store(ticket);
+                ids.add(ticket.getTicketId());
+                lastTicketId = Math.max(lastTicketId, ticket.getTicketId());
+                for (Comment comment : ticket.getComments()) {
+                    if (comment.getCommentId() != null) {
+                        lastCommentId = Math.max(lastCommentId, comment.getCommentId());
+                    }
+                }
+            }
+            for (Ticket ticket : List.copyOf(tickets.values())) {
+                if (!ids.contains(ticket.getTicketId())) {
+                    tickets.remove(ticket.getTicketId());
+                    timeIndex.remove(ticket, null);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Inserts a batch of imported tickets as a single command, keeping their IDs, statuses, timestamps and comments.
+     * Missing timestamps default to now, and comments without an ID get a new one.
+     * A ticket with an ID up to replaceableUpTo replaces the existing one, with a version above it;
+     * an existing ticket with a higher ID is kept and the imported one reported as a conflict.
+     *
+     * @param batch           the tickets to insert, each with an ID
+     * @param replaceableUpTo the highest ID of the stored tickets that may be replaced
+     * @return the stored tickets, the tickets they replaced and the conflicts
+     */
+    public ImportedBatch saveAll(List<Ticket> batch, long replaceableUpTo) {
+        for (Ticket ticket : batch) {
+            if (ticket.getTicketId() == null) {
+                throw new IllegalArgumentException("Imported tickets must have an ID: " + ticket.getSubject());
+            }
+        }
+        return submit(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (Ticket ticket : batch) {
+                lastTicketId = Math.max(lastTicketId, ticket.getTicketId());
+                for (Comment comment : ticket.getComments()) {
+                    if (comment.getCommentId() != null) {
+                        lastCommentId = Math.max(lastCommentId, comment.getCommentId());
+                    }
+                }
+            }
+            List<Ticket> saved = new ArrayList<>(batch.size());
+            List<Ticket> replaced = new ArrayList<>();
+            List<Ticket> conflicts = new ArrayList<>();
+            for (Ticket ticket : batch) {
+                Ticket current = tickets.get(ticket.getTicketId());
+                if (current != null && ticket.getTicketId() > replaceableUpTo) {
+                    conflicts.add(ticket);
+                    continue;
+                }
+                if (ticket.getCreatedAt() == null) {
+                    ticket.setCreatedAt(now);
+                }
+                if (ticket.getUpdatedAt() == null) {
+                    ticket.setUpdatedAt(ticket.getCreatedAt());
+                }
+                for (Comment comment : ticket.getComments()) {
+                    if (comment.getCommentId() == null) {
+                        comment.setCommentId(++lastCommentId);
+                    }
+                    if (comment.getCreatedAt() == null) {
+                        comment.setCreatedAt(ticket.getCreatedAt());
+                    }
+                    comment.setTicketId(ticket.getTicketId());
+                }
+                long version = Math.max(ticket.getVersion(), current == null ? 1 : current.getVersion() + 1);
+                saved.add(publish(ticket.withVersion(version)));
+                if (current != null) {
+                    replaced.add(current);
+                }
+            }
+            return new ImportedBatch(saved, replaced, conflicts);
+        });
+    }
+
+    public long lastTicketId() {
+        return submit(() -> lastTicketId);
+    }
+
+    /*
+     * Makes a new ticket version visible to readers and queues it for the listeners.
+     */
+    private Ticket publish(Ticket ticket) {
+        store(ticket);
+        changed.add(ticket);
+        return ticket;
+    }
+
+    /*
+     * Indexes the new version before readers can see it, then drops the entries of the replaced one.
+     */
+    private void store(Ticket ticket) {
+        timeIndex.add(ticket);
+        Ticket previous = tickets.put(ticket.getTicketId(), ticket);
+        if (previous != ticket) {
+            timeIndex.remove(previous, ticket);
+        }
+    }
+
+    /*
+     * Hands the action to the writer thread and waits for it to be applied.
+     * Listeners that write back to the storage run on the writer thread and apply their action inline.
+     * A command queued after stop() drained the queue is taken back and rejected here, since nothing
+     * else would ever complete it.
+     */
+    private <T> T submit(Supplier<T> action) {
+        if (Thread.currentThread() == writer) {
+            return action.get();
+        }
+        if (!running) {
+            throw new IllegalStateException("Storage is not running");
+        }
+        Command<T> command = new Command<>(action);
+        try {
+            queue.put(command);
+            if (!running && queue.remove(command)) {
+                command.reject();
+            }
+            return command.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the storage writer", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void run() {
+        List<Command<?>> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                if (queue.isEmpty()) {
+                    break;
+                }
+                continue;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+            for (Command<?> command : batch) {
+                command.apply();
+            }
+            for (Ticket ticket : changed) {
+                notifyListeners(ticket);
+            }
+            for (Command<?> command : batch) {
+                command.complete();
+            }
+            changed.clear();
+            batch.clear();
+        }
+    }
+
+    private void notifyListeners(Ticket ticket) {
+        for (TicketChangeListener listener : listeners) {
+            try {
+                listener.onTicketChanged(ticket);
+            } catch (RuntimeException e) {
+                log.error("Change listener failed for ticket {}", ticket.getTicketId(), e);
+            }
+        }
+    }
+
+    private static final class Command<T> {
+
+        private final Supplier<T> action;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+        private RuntimeException failure;
+
+        Command(Supplier<T> action) {
+            this.action = action;
+        }
+
+        void apply() {
+            try {
+                value = action.get();
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+
+        void reject() {
+            result.completeExceptionally(new IllegalStateException("Storage is shut down"));
+        }
+
+        void complete() {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.assignment.ticketing.storage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.TicketSortField;
+import com.assignment.ticketing.repository.TicketQuery;
+
+/*
+ * Concurrent skip-list indexes of the tickets by creation and update time, so that sorted and
+ * time-range listings walk the index from the right position and stop after `limit` matches
+ * instead of sorting the whole store.
+ *
+ * The index may briefly hold a stale entry next to the current one while a ticket is rewritten,
+ * so a walk can meet a ticket at both entries. A walk lists a ticket at the entry matching its
+ * current version, or at a stale entry when the current one is already behind the walk, and
+ * remembers the tickets it listed, so each ticket is listed at most once. Updated tickets move
+ * ahead of an ascending walk, which therefore lists every ticket present for the whole walk;
+ * descending listings are collected by an ascending walk for that reason.
+ */
+class TicketTimeIndex {
+
+    private static final Comparator<Key> ORDER = Comparator.comparing(Key::time).thenComparingLong(Key::ticketId);
+
+    private final Map<TicketSortField, NavigableSet<Key>> indexes = new EnumMap<>(TicketSortField.class);
+
+    TicketTimeIndex() {
+        for (TicketSortField field : TicketSortField.values()) {
+            indexes.put(field, new ConcurrentSkipListSet<>(ORDER));
+        }
+    }
+
+    /*
+     * Indexes a new ticket version. Must be called before the version is published to readers.
+     */
+    void add(Ticket ticket) {
+        for (TicketSortField field : TicketSortField.values()) {
+            LocalDateTime time = field.of(ticket);
+            if (time != null) {
+                indexes.get(field).add(new Key(time, ticket.getTicketId()));
+            }
+        }
+    }
+
+    /*
+     * Drops the entries of a replaced ticket version that the current version no longer uses.
+     */
+    void remove(Ticket previous, Ticket current) {
+        if (previous == null) {
+            return;
+        }
+        for (TicketSortField field : TicketSortField.values()) {
+            LocalDateTime time = field.of(previous);
+            if (time != null && (current == null || !time.equals(field.of(current)))) {
+                indexes.get(field).remove(new Key(time, previous.getTicketId()));
+            }
+        }
+    }
+
+    /*
+     * Answers a query that is sorted or bounded in time. Without a sort, the time range being
+     * filtered on decides the index, and results come out in ascending order of that time.
+     */
+    List<Ticket> find(TicketQuery query, Function<Long, Ticket> lookup) {
+        TicketSortField field = query.sort() != null ? query.sort()
+                : query.createdAfter() != null || query.createdBefore() != null
+                        ? TicketSortField.CREATED_AT
+                        : TicketSortField.UPDATED_AT;
+        NavigableSet<Key> range = range(field, query);
+        int limit = query.limit() == null ? Integer.MAX_VALUE : query.limit();
+        List<Ticket> result = new ArrayList<>();
+        if (!query.descending()) {
+            walk(range, false, field, query, lookup, limit, result);
+            result.sort(Comparator.comparing(field::of).thenComparing(Ticket::getTicketId));
+            return result;
+        }
+        // A descending walk misses a ticket updated after the walk passed its new entry, once the
+        // update removes the old entry ahead. The walk only finds the oldest entry the newest
+        // `limit` matches need; an ascending walk from there collects them.
+        Key oldest = query.limit() == null
+                ? null
+                : walk(range.descendingSet(), true, field, query, lookup, limit, result);
+        result.clear();
+        walk(oldest == null ? range : range.tailSet(oldest, true), false, field, query, lookup, Integer.MAX_VALUE, result);
+        result.sort(Comparator.comparing(field::of).thenComparing(Ticket::getTicketId).reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /*
+     * Adds the matching tickets met by the walk to the result, up to the limit, mostly in walk order.
+     * Returns the entry at which the limit was reached, or null if the walk ran out of entries.
+     *
+     * A ticket met at a stale entry is expected again at its current entry, ahead of the walk. The
+     * skip-list iterator looks one node ahead, though, and misses an entry inserted right behind that
+     * node, so such tickets are remembered and settled once the iterator is exhausted: listed if their
+     * current entry is now behind the walk, or met by walking on from there.
+     */
+    private static Key walk(NavigableSet<Key> keys, boolean descending, TicketSortField field, TicketQuery query,
+            Function<Long, Ticket> lookup, int limit, List<Ticket> result) {
+        Set<Long> listed = new HashSet<>();
+        Map<Long, Key> pending = new HashMap<>();
+        NavigableSet<Key> remaining = keys;
+        Key position = null;
+        while (true) {
+            for (Key key : remaining) {
+                position = key;
+                Ticket ticket = lookup.apply(key.ticketId());
+                if (ticket == null || listed.contains(key.ticketId()) || !query.matches(ticket)) {
+                    continue;
+                }
+                LocalDateTime time = field.of(ticket);
+                if (key.time().equals(time) || (time != null && isPassed(new Key(time, key.ticketId()), key, descending))) {
+                    listed.add(key.ticketId());
+                    pending.remove(key.ticketId());
+                    result.add(ticket);
+                    if (result.size() == limit) {
+                        return key;
+                    }
+                } else {
+                    pending.putIfAbsent(key.ticketId(), key);
+                }
+            }
+
+            boolean ahead = false;
+            for (Iterator<Map.Entry<Long, Key>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Long, Key> stale = it.next();
+                Ticket ticket = lookup.apply(stale.getKey());
+                LocalDateTime time = ticket == null ? null : field.of(ticket);
+                Key current = time == null ? null : new Key(time, stale.getKey());
+                if (current == null || !query.matches(ticket) || isPassed(current, stale.getValue(), descending)) {
+                    // Gone, no longer matching, or moved back before the entry where it was met.
+                    it.remove();
+                } else if (isPassed(position, current, descending)) {
+                    ahead = true;
+                } else {
+                    it.remove();
+                    listed.add(stale.getKey());
+                    result.add(ticket);
+                    if (result.size() == limit) {
+                        return position;
+                    }
+                }
+            }
+            if (!ahead) {
+                return null;
+            }
+            remaining = keys.tailSet(position, false);
+        }
+    }
+
+    /*
+     * Tells whether the current entry of a ticket comes before the walk position,
+     * e.g. when its update time was set backwards by an import.
+     */
+    private static boolean isPassed(Key current, Key position, boolean descending) {
+        int order = ORDER.compare(current, position);
+        return descending ? order > 0 : order < 0;
+    }
+
+    /*
+     * Filters and limits a query that needs no ordering by scanning every ticket.
+     */
+    static List<Ticket> scan(TicketQuery query, Collection<Ticket> tickets) {
+        return tickets.stream()
+                .filter(Objects::nonNull)
+                .filter(query::matches)
+                .limit(query.limit() == null ? Long.MAX_VALUE : query.limit())
+                .toList();
+    }
+
+    private NavigableSet<Key> range(TicketSortField field, TicketQuery query) {
+        NavigableSet<Key> index = indexes.get(field);
+        LocalDateTime from;
+        boolean fromInclusive;
+        LocalDateTime to = null;
+        if (field == TicketSortField.CREATED_AT) {
+            from = query.createdAfter();
+            fromInclusive = false;
+            to = query.createdBefore();
+        } else {
+            from = query.updatedSince();
+            fromInclusive = true;
+        }
+        Key lower = from == null ? null : new Key(from, fromInclusive ? Long.MIN_VALUE : Long.MAX_VALUE);
+        Key upper = to == null ? null : new Key(to, Long.MIN_VALUE);
+        if (lower != null && upper != null) {
+            return ORDER.compare(lower, upper) < 0
+                    ? index.subSet(lower, fromInclusive, upper, false)
+                    : new ConcurrentSkipListSet<>(ORDER);
+        }
+        if (lower != null) {
+            return index.tailSet(lower, fromInclusive);
+        }
+        return upper != null ? index.headSet(upper, false) : index;
+    }
+
+    private record Key(LocalDateTime time, long ticketId) {}
+}
@@ -0,0 +1,74 @@
+package com.assignment.ticketing.webhook;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Append-only NDJSON file of the webhook batches that could not be delivered, one line per batch,
+ * so that they can be inspected and replayed by hand.
+ *
+ * The file is opened on the first write and kept open; each letter is flushed as soon as it is
+ * written. A failed write closes the file so that the next one reopens it.
+ */
+@Slf4j
+class DeadLetterFile implements Closeable {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private OutputStream out;
+
+    DeadLetterFile(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    synchronized void write(URI endpoint, List<TicketEvent> events, int attempts, String reason) {
+        DeadLetter letter = new DeadLetter(endpoint.toString(), LocalDateTime.now(), attempts, reason, events);
+        try {
+            if (out == null) {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                out = new BufferedOutputStream(
+                        Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+            }
+            out.write(objectMapper.writeValueAsBytes(letter));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            log.error("Lost {} webhook events for {}: cannot write dead-letter file {}", events.size(), endpoint, path, e);
+            close();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("Cannot close dead-letter file {}: {}", path, e.getMessage());
+        }
+        out = null;
+    }
+
+    record DeadLetter(String endpoint, LocalDateTime failedAt, int attempts, String reason, List<TicketEvent> events) {}
+}
@@ -0,0 +1,42 @@
+package com.assignment.ticketing.webhook;
+
+import java.time.LocalDateTime;
+
+import com.assignment.ticketing.model.domain.Comment;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.CommentVisibility;
+import com.assignment.ticketing.model.enums.TicketStatus;
+
+/*
+ * Change of a ticket as sent to webhook endpoints. Events only carry identifiers and the new state;
+ * receivers that need the full ticket fetch it from the API.
+ */
+public record TicketEvent(
+        TicketEventType type,
+        Long ticketId,
+        long version,
+        TicketStatus status,
+        TicketStatus previousStatus,
+        String userId,
+        String assigneeId,
+        Long commentId,
+        CommentVisibility commentVisibility,
+        LocalDateTime occurredAt) {
+
+    public static TicketEvent created(Ticket ticket) {
+        return new TicketEvent(TicketEventType.TICKET_CREATED, ticket.getTicketId(), ticket.getVersion(),
+                ticket.getStatus(), null, ticket.getUserId(), ticket.getAssigneeId(), null, null, ticket.getUpdatedAt());
+    }
+
+    public static TicketEvent statusChanged(Ticket ticket, TicketStatus previousStatus) {
+        return new TicketEvent(TicketEventType.STATUS_CHANGED, ticket.getTicketId(), ticket.getVersion(),
+                ticket.getStatus(), previousStatus, ticket.getUserId(), ticket.getAssigneeId(), null, null,
+                ticket.getUpdatedAt());
+    }
+
+    public static TicketEvent commentAdded(Ticket ticket, Comment comment) {
+        return new TicketEvent(TicketEventType.COMMENT_ADDED, ticket.getTicketId(), ticket.getVersion(),
+                ticket.getStatus(), null, ticket.getUserId(), ticket.getAssigneeId(), comment.getCommentId(),
+                comment.getVisibility(), comment.getCreatedAt());
+    }
+}
@@ -0,0 +1,7 @@
+package com.assignment.ticketing.webhook;
+
+public enum TicketEventType {
+    TICKET_CREATED,
+    STATUS_CHANGED,
+    COMMENT_ADDED
+}
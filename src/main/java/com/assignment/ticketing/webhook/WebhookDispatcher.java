@@ -0,0 +1,404 @@
+package com.assignment.ticketing.webhook;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.stereotype.Component;
+
+import com.assignment.ticketing.config.WebhookConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Delivers ticket events to the configured webhook endpoints.
+ *
+ * publish() only offers the event to a bounded queue and never blocks the request; when the queue
+ * is full the event is dropped and counted, and the dispatcher logs how many were dropped at most
+ * once per drop-report interval rather than once per event. A dispatcher thread moves events to a pending list per
+ * endpoint and posts them as a JSON array once batch-size events are pending or the oldest one has
+ * waited max-delay. Each endpoint has at most one batch in flight, so it receives events in order.
+ *
+ * A batch that fails with a network error, a 5xx, 408 or 429 is retried with exponential backoff
+ * (initial-backoff, doubling up to max-backoff) until max-attempts; other responses are not retried.
+ * Batches that cannot be delivered, events beyond max-pending for an endpoint, and events still
+ * pending at shutdown are appended to the dead-letter file. At shutdown, batches in flight get up to
+ * request-timeout for their response; those still unacknowledged then, or waiting for a retry, are
+ * dead-lettered as well. Events beyond max-pending are collected
+ * and written as one letter per endpoint for each round of the dispatcher, so a failing endpoint
+ * costs one write per round rather than one per event, and does not hold up the others.
+ */
+@Slf4j
+@Component
+public class WebhookDispatcher {
+
+    private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final TicketEvent WAKE_UP = new TicketEvent(null, null, 0, null, null, null, null, null, null, null);
+
+    private final BlockingQueue<TicketEvent> events;
+    private final List<Endpoint> endpoints;
+    private final ObjectMapper objectMapper;
+    private final DeadLetterFile deadLetters;
+    private final HttpClient httpClient;
+    private final int batchSize;
+    private final int maxPending;
+    private final long maxDelayNanos;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final WebhookConfig webhookConfig;
+    private final Counter dropped;
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter deadLettered;
+    private final AtomicLong droppedSinceReport = new AtomicLong();
+    private final Object responses = new Object();
+    private long lastDropReportNanos = System.nanoTime() - DROP_REPORT_INTERVAL_NANOS;
+
+    private ScheduledExecutorService retryScheduler;
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    public WebhookDispatcher(WebhookConfig webhookConfig, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.webhookConfig = webhookConfig;
+        this.objectMapper = objectMapper;
+        this.events = new ArrayBlockingQueue<>(Math.max(webhookConfig.getQueueCapacity(), 1));
+        this.endpoints = webhookConfig.getEndpoints().stream()
+                .map(String::trim)
+                .filter(endpoint -> !endpoint.isEmpty())
+                .distinct()
+                .map(endpoint -> new Endpoint(URI.create(endpoint)))
+                .toList();
+        this.deadLetters = new DeadLetterFile(Path.of(webhookConfig.getDeadLetterFile()), objectMapper);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(webhookConfig.getRequestTimeout())
+                .build();
+        this.batchSize = Math.max(webhookConfig.getBatchSize(), 1);
+        this.maxPending = Math.max(webhookConfig.getMaxPending(), batchSize);
+        this.maxDelayNanos = Math.max(webhookConfig.getMaxDelay().toNanos(), TimeUnit.MILLISECONDS.toNanos(1));
+        this.maxAttempts = Math.max(webhookConfig.getMaxAttempts(), 1);
+        this.initialBackoffMillis = Math.max(webhookConfig.getInitialBackoff().toMillis(), 1);
+        this.maxBackoffMillis = Math.max(webhookConfig.getMaxBackoff().toMillis(), initialBackoffMillis);
+        this.dropped = counter(meterRegistry, "ticketing.webhooks.events", "dropped");
+        this.delivered = counter(meterRegistry, "ticketing.webhooks.batches", "delivered");
+        this.retried = counter(meterRegistry, "ticketing.webhooks.batches", "retried");
+        this.deadLettered = counter(meterRegistry, "ticketing.webhooks.batches", "dead-lettered");
+    }
+
+    @PostConstruct
+    void start() {
+        if (endpoints.isEmpty()) {
+            return;
+        }
+        running = true;
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "webhook-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher = Thread.ofPlatform().name("webhook-dispatcher").daemon().start(this::run);
+        log.info("Webhooks enabled for {} endpoints, dead letters go to {}",
+                endpoints.size(), deadLetters.path().toAbsolutePath());
+    }
+
+    /*
+     * Stops dispatching and dead-letters the events that were not sent yet, then waits up to the request
+     * timeout for the batches in flight and dead-letters those that were not acknowledged.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        dispatcher.interrupt();
+        dispatcher.join();
+        retryScheduler.shutdownNow();
+        try {
+            awaitResponses(System.nanoTime() + webhookConfig.getRequestTimeout().toNanos());
+        } finally {
+            for (Endpoint endpoint : endpoints) {
+                Batch batch = endpoint.unacknowledged.getAndSet(null);
+                if (batch != null) {
+                    log.warn("Shutting down before {} webhook events were acknowledged by {}, writing them to {}",
+                            batch.events().size(), endpoint.uri, deadLetters.path());
+                    deadLetters.write(endpoint.uri, batch.events(), batch.attempt(), "Shut down before acknowledgement");
+                    deadLettered.increment();
+                }
+            }
+            deadLetters.close();
+        }
+    }
+
+    private void awaitResponses(long deadline) throws InterruptedException {
+        synchronized (responses) {
+            while (endpoints.stream().anyMatch(endpoint -> endpoint.awaitingResponse)) {
+                long wait = deadline - System.nanoTime();
+                if (wait <= 0) {
+                    return;
+                }
+                TimeUnit.NANOSECONDS.timedWait(responses, wait);
+            }
+        }
+    }
+
+    /**
+     * Queues an event for every endpoint without blocking. The event is dropped if the queue is full.
+     *
+     * @param event the event to deliver
+     */
+    public void publish(TicketEvent event) {
+        if (!running) {
+            return;
+        }
+        if (!events.offer(event)) {
+            dropped.increment();
+            droppedSinceReport.incrementAndGet();
+        }
+    }
+
+    private void run() {
+        List<TicketEvent> received = new ArrayList<>();
+        while (running) {
+            try {
+                TicketEvent event = events.poll(nextDeadlineNanos(), TimeUnit.NANOSECONDS);
+                if (event != null) {
+                    received.add(event);
+                }
+            } catch (InterruptedException e) {
+                break;
+            }
+            events.drainTo(received);
+            long now = System.nanoTime();
+            for (TicketEvent event : received) {
+                if (event != WAKE_UP) {
+                    for (Endpoint endpoint : endpoints) {
+                        enqueue(endpoint, event, now);
+                    }
+                }
+            }
+            received.clear();
+            if (now - lastDropReportNanos >= DROP_REPORT_INTERVAL_NANOS) {
+                reportDrops(now);
+            }
+            for (Endpoint endpoint : endpoints) {
+                spillOverflow(endpoint);
+                if (endpoint.isDue(now)) {
+                    Batch batch = endpoint.takeBatch();
+                    endpoint.unacknowledged.set(batch);
+                    send(endpoint, batch);
+                }
+            }
+        }
+        shutDown();
+    }
+
+    private void enqueue(Endpoint endpoint, TicketEvent event, long now) {
+        if (endpoint.pending.size() >= maxPending) {
+            endpoint.overflow.add(event);
+            return;
+        }
+        endpoint.pending.add(new Pending(event, now));
+    }
+
+    private void reportDrops(long now) {
+        long count = droppedSinceReport.getAndSet(0);
+        if (count > 0) {
+            log.warn("Webhook queue is full, dropped {} events since the last report", count);
+            lastDropReportNanos = now;
+        }
+    }
+
+    private void spillOverflow(Endpoint endpoint) {
+        if (endpoint.overflow.isEmpty()) {
+            return;
+        }
+        log.warn("More than {} webhook events pending for {}, writing {} events to {}",
+                maxPending, endpoint.uri, endpoint.overflow.size(), deadLetters.path());
+        deadLetters.write(endpoint.uri, List.copyOf(endpoint.overflow), 0, "More than " + maxPending + " events pending");
+        deadLettered.increment();
+        endpoint.overflow.clear();
+    }
+
+    /*
+     * Waits until the oldest pending event of an idle endpoint reaches max-delay.
+     */
+    private long nextDeadlineNanos() {
+        long now = System.nanoTime();
+        long wait = maxDelayNanos;
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.unacknowledged.get() == null && !endpoint.pending.isEmpty()) {
+                wait = Math.min(wait, endpoint.pending.peek().enqueuedNanos() + maxDelayNanos - now);
+            }
+        }
+        return Math.max(wait, 0);
+    }
+
+    private void send(Endpoint endpoint, Batch batch) {
+        endpoint.awaitingResponse = true;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(endpoint.uri)
+                    .timeout(webhookConfig.getRequestTimeout())
+                    .header("Content-Type", "application/json")
+                    .header("X-Webhook-Attempt", String.valueOf(batch.attempt()))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(batch.body()))
+                    .build();
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> onResponse(endpoint, batch,
+                            failure == null ? response.statusCode() : -1,
+                            failure == null ? "HTTP " + response.statusCode() : failure.toString()));
+        } catch (RuntimeException e) {
+            // An endpoint the client rejects outright, e.g. an unsupported URI scheme: not worth retrying.
+            onResponse(endpoint, batch, 0, e.toString());
+        }
+    }
+
+    private void onResponse(Endpoint endpoint, Batch batch, int status, String outcome) {
+        try {
+            handleResponse(endpoint, batch, status, outcome);
+        } finally {
+            synchronized (responses) {
+                endpoint.awaitingResponse = false;
+                responses.notifyAll();
+            }
+        }
+    }
+
+    /*
+     * A batch that stop() already dead-lettered is no longer owned by its endpoint: its late outcome is
+     * counted but neither retried nor written again.
+     */
+    private void handleResponse(Endpoint endpoint, Batch batch, int status, String outcome) {
+        if (status >= 200 && status < 300) {
+            delivered.increment();
+            release(endpoint, batch);
+            return;
+        }
+        boolean retryable = status == -1 || status >= 500 || status == 408 || status == 429;
+        if (retryable && batch.attempt() < maxAttempts && running) {
+            long backoff = Math.min(initialBackoffMillis << Math.min(batch.attempt() - 1, 30), maxBackoffMillis);
+            log.warn("Webhook delivery of {} events to {} failed ({}), retrying in {} ms",
+                    batch.events().size(), endpoint.uri, outcome, backoff);
+            try {
+                retryScheduler.schedule(() -> retry(endpoint, batch), backoff, TimeUnit.MILLISECONDS);
+                retried.increment();
+                return;
+            } catch (RejectedExecutionException e) {
+                // Shutting down: dead-letter the batch below.
+            }
+        }
+        if (endpoint.unacknowledged.get() != batch) {
+            return;
+        }
+        log.error("Webhook delivery of {} events to {} failed after {} attempts ({}), writing them to {}",
+                batch.events().size(), endpoint.uri, batch.attempt(), outcome, deadLetters.path());
+        deadLetters.write(endpoint.uri, batch.events(), batch.attempt(), outcome);
+        deadLettered.increment();
+        release(endpoint, batch);
+    }
+
+    private void retry(Endpoint endpoint, Batch batch) {
+        Batch next = batch.nextAttempt();
+        if (endpoint.unacknowledged.compareAndSet(batch, next)) {
+            send(endpoint, next);
+        }
+    }
+
+    private void release(Endpoint endpoint, Batch batch) {
+        if (endpoint.unacknowledged.compareAndSet(batch, null)) {
+            events.offer(WAKE_UP);
+        }
+    }
+
+    private void shutDown() {
+        List<TicketEvent> queued = new ArrayList<>();
+        events.drainTo(queued);
+        queued.removeIf(event -> event == WAKE_UP);
+        reportDrops(System.nanoTime());
+        for (Endpoint endpoint : endpoints) {
+            spillOverflow(endpoint);
+            List<TicketEvent> unsent = new ArrayList<>();
+            endpoint.pending.forEach(pending -> unsent.add(pending.event()));
+            unsent.addAll(queued);
+            if (!unsent.isEmpty()) {
+                deadLetters.write(endpoint.uri, unsent, 0, "Shut down before delivery");
+                deadLettered.increment();
+            }
+        }
+    }
+
+    private Batch toBatch(List<TicketEvent> events) {
+        try {
+            return new Batch(events, objectMapper.writeValueAsBytes(events), 1);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize webhook events", e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder(name).tag("outcome", outcome).register(meterRegistry);
+    }
+
+    /*
+     * Delivery state of one endpoint. The pending and overflow lists are only used by the dispatcher thread.
+     * The unacknowledged batch is the one sent or waiting for a retry, until it is delivered or dead-lettered;
+     * awaitingResponse is set while a request for it is open.
+     */
+    private final class Endpoint {
+
+        private final URI uri;
+        private final ArrayDeque<Pending> pending = new ArrayDeque<>();
+        private final List<TicketEvent> overflow = new ArrayList<>();
+        private final AtomicReference<Batch> unacknowledged = new AtomicReference<>();
+        private volatile boolean awaitingResponse;
+
+        Endpoint(URI uri) {
+            this.uri = uri;
+        }
+
+        boolean isDue(long now) {
+            return unacknowledged.get() == null && !pending.isEmpty()
+                    && (pending.size() >= batchSize || now - pending.peek().enqueuedNanos() >= maxDelayNanos);
+        }
+
+        Batch takeBatch() {
+            List<TicketEvent> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+            while (!pending.isEmpty() && batch.size() < batchSize) {
+                batch.add(pending.poll().event());
+            }
+            return toBatch(batch);
+        }
+    }
+
+    private record Pending(TicketEvent event, long enqueuedNanos) {}
+
+    /*
+     * The body is serialized once and reused by the retries.
+     */
+    private record Batch(List<TicketEvent> events, byte[] body, int attempt) {
+
+        Batch nextAttempt() {
+            return new Batch(events, body, attempt + 1);
+        }
+    }
+}
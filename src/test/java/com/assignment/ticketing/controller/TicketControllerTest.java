@@ -19,6 +19,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -65,4 +67,55 @@ public class TicketControllerTest {
                 .andExpect(jsonPath("$[0].comments.length()").value(1))
                 .andExpect(jsonPath("$[0].comments[0].content").value("Visible comment"));
     }
+
+    @Test
+    void getTickets_shouldSortLimitAndValidateParameters() throws Exception {
+        mockMvc.perform(get("/api/tickets?sort=updatedAt&direction=desc&limit=1")
+                .header("X-API-KEY", "test-key-agent"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].subject").value("Test Ticket 2"));
+
+        mockMvc.perform(get("/api/tickets?sort=priority")
+                .header("X-API-KEY", "test-key-agent"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/tickets?updatedSince=yesterday")
+                .header("X-API-KEY", "test-key-agent"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTickets_shouldDocumentTheResponseAsAnArrayOfTickets() throws Exception {
+        mockMvc.perform(get("/v3/api-docs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.paths['/api/tickets'].get.responses['200'].content['application/json'].schema.type")
+                        .value("array"))
+                .andExpect(jsonPath("$.paths['/api/tickets'].get.responses['200'].content['application/json'].schema.items['$ref']")
+                        .value("#/components/schemas/TicketResponse"));
+    }
+
+    @Test
+    void updateTicketStatus_shouldReturnPreconditionFailedForStaleVersion() throws Exception {
+        mockMvc.perform(patch("/api/tickets/1/status")
+                .header("X-API-KEY", "test-key-agent")
+                .header("If-Match", "\"999\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"IN_PROGRESS\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateTicketStatus_shouldReturnNewVersionAsETag() throws Exception {
+        long version = ticketRepository.findById(1L).orElseThrow().getVersion();
+
+        mockMvc.perform(patch("/api/tickets/1/status")
+                .header("X-API-KEY", "test-key-agent")
+                .header("If-Match", "\"" + version + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"IN_PROGRESS\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + (version + 1) + "\""))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+    }
 }
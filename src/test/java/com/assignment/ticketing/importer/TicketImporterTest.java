@@ -0,0 +1,185 @@
+package com.assignment.ticketing.importer;
+
+import com.assignment.ticketing.config.AssignmentConfig;
+import com.assignment.ticketing.config.ImportConfig;
+import com.assignment.ticketing.model.domain.AgentLoad;
+import com.assignment.ticketing.model.domain.Comment;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.TicketStatus;
+import com.assignment.ticketing.service.AssignmentService;
+import com.assignment.ticketing.service.TicketService;
+import com.assignment.ticketing.sla.SlaScheduler;
+import com.assignment.ticketing.storage.InMemoryStorage;
+import com.assignment.ticketing.webhook.WebhookDispatcher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TicketImporterTest {
+
+    private InMemoryStorage storage;
+    private AssignmentService assignmentService;
+    private TicketImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        AssignmentConfig assignmentConfig = mock(AssignmentConfig.class);
+        when(assignmentConfig.getAgents()).thenReturn(List.of("agent-01", "agent-02"));
+        ImportConfig importConfig = mock(ImportConfig.class);
+        when(importConfig.getBatchSize()).thenReturn(2);
+        when(importConfig.getParallelism()).thenReturn(3);
+        when(importConfig.getQueueCapacity()).thenReturn(1);
+
+        storage = new InMemoryStorage();
+        assignmentService = new AssignmentService(assignmentConfig);
+        importer = new TicketImporter(storage, assignmentService, new ObjectMapper().findAndRegisterModules(), importConfig);
+    }
+
+    @Test
+    void importNdjson_shouldKeepIdsAndReportBadLines() throws IOException {
+        String ndjson = """
+                {"ticketId":7,"subject":"Printer","status":"RESOLVED","userId":"user-1","createdAt":"2024-01-02T10:00:00","comments":[{"commentId":40,"authorId":"agent-01","content":"Fixed","visibility":"PUBLIC"}]}
+                {"ticketId":3,"subject":"VPN","userId":"user-2","assigneeId":"agent-02"}
+                not json
+
+                {"subject":"No id"}
+                {"ticketId":12,"subject":"Mail","status":"IN_PROGRESS","assigneeId":"agent-02"}
+                """;
+
+        ImportResult result = importer.importTickets(stream(ndjson), ImportFormat.NDJSON);
+
+        assertEquals(3, result.imported());
+        assertEquals(2, result.failed());
+        assertTrue(result.errors().stream().anyMatch(error -> error.startsWith("Line 3:")));
+        assertTrue(result.errors().stream().anyMatch(error -> error.startsWith("Line 5:")));
+
+        Ticket printer = storage.findById(7L).orElseThrow();
+        assertEquals(TicketStatus.RESOLVED, printer.getStatus());
+        assertEquals(LocalDateTime.of(2024, 1, 2, 10, 0), printer.getCreatedAt());
+        assertEquals(7L, printer.getComments().get(0).getTicketId());
+        assertEquals(TicketStatus.OPEN, storage.findById(3L).orElseThrow().getStatus());
+
+        assertEquals(13L, storage.save(new Ticket()).getTicketId());
+        assertEquals(List.of(new AgentLoad("agent-01", 0), new AgentLoad("agent-02", 2)), assignmentService.getLoads());
+    }
+
+    @Test
+    void importCsv_shouldHandleQuotedFields() throws IOException {
+        String csv = """
+                subject,ticketId,status,description,createdAt
+                "Login, again",1,CLOSED,"Says ""denied""
+                twice",2024-03-01T08:30:00
+                Screen,2,in_progress,,
+                Broken,x,OPEN,,
+                """;
+
+        ImportResult result = importer.importTickets(stream(csv), ImportFormat.CSV);
+
+        assertEquals(2, result.imported());
+        assertEquals(1, result.failed());
+        assertTrue(result.errors().get(0).startsWith("Line 5:"));
+
+        Ticket login = storage.findById(1L).orElseThrow();
+        assertEquals("Login, again", login.getSubject());
+        assertEquals("Says \"denied\"\ntwice", login.getDescription());
+        assertEquals(TicketStatus.CLOSED, login.getStatus());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 8, 30), login.getCreatedAt());
+        assertEquals(TicketStatus.IN_PROGRESS, storage.findById(2L).orElseThrow().getStatus());
+    }
+
+    @Test
+    void importTickets_shouldImportLargeInputs() throws IOException {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= 5000; i++) {
+            ndjson.append("{\"ticketId\":").append(i).append(",\"subject\":\"Ticket ").append(i).append("\"}\n");
+        }
+
+        ImportResult result = importer.importTickets(stream(ndjson.toString()), ImportFormat.NDJSON);
+
+        assertEquals(5000, result.imported());
+        assertEquals(0, result.failed());
+        assertEquals(5000, storage.findByFilter(null, null, null).size());
+    }
+
+    @Test
+    void importTickets_shouldReplaceExistingTicketsWithoutCountingTheirLoadTwice() throws IOException {
+        String ndjson = "{\"ticketId\":3,\"subject\":\"VPN\",\"assigneeId\":\"agent-02\"}\n";
+
+        importer.importTickets(stream(ndjson), ImportFormat.NDJSON);
+        ImportResult result = importer.importTickets(stream(ndjson.replace("VPN", "VPN again")), ImportFormat.NDJSON);
+
+        assertEquals(1, result.imported());
+        assertEquals("VPN again", storage.findById(3L).orElseThrow().getSubject());
+        assertEquals(2, storage.findById(3L).orElseThrow().getVersion());
+        assertEquals(List.of(new AgentLoad("agent-01", 0), new AgentLoad("agent-02", 1)), assignmentService.getLoads());
+    }
+
+    @Test
+    void importTickets_shouldNotOverwriteTicketsCreatedDuringTheImport() throws IOException {
+        Ticket live = new Ticket();
+        live.setSubject("Created while importing");
+        live.setStatus(TicketStatus.OPEN);
+        AtomicBoolean created = new AtomicBoolean();
+        // The ticket is created once the import has started, and takes the ID of the imported record.
+        InputStream input = new FilterInputStream(stream("{\"ticketId\":1,\"subject\":\"Imported\"}\n")) {
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (created.compareAndSet(false, true)) {
+                    storage.save(live);
+                }
+                return super.read(buffer, offset, length);
+            }
+        };
+
+        ImportResult result = importer.importTickets(input, ImportFormat.NDJSON);
+
+        assertEquals(0, result.imported());
+        assertEquals(1, result.failed());
+        assertTrue(result.errors().get(0).startsWith("Line 1: Ticket 1 was created after the import started"));
+        assertEquals("Created while importing", storage.findById(1L).orElseThrow().getSubject());
+    }
+
+    @Test
+    void importNdjson_shouldRejectCommentsUsersCannotBeShown() throws IOException {
+        String ndjson = """
+                {"ticketId":1,"subject":"Hidden","comments":[{"authorId":"agent-01","content":"No visibility"}]}
+                {"ticketId":2,"subject":"Shown","comments":[{"authorId":"agent-01","content":"Internal","visibility":"INTERNAL"},{"authorId":"agent-01","content":"Public","visibility":"PUBLIC"}]}
+                {"ticketId":3,"subject":"Anonymous","comments":[{"content":"Who?","visibility":"PUBLIC"}]}
+                """;
+
+        ImportResult result = importer.importTickets(stream(ndjson), ImportFormat.NDJSON);
+
+        assertEquals(1, result.imported());
+        assertTrue(result.errors().contains("Line 1: Comment 1: missing visibility"));
+        assertTrue(result.errors().contains("Line 3: Comment 1: missing authorId"));
+
+        TicketService ticketService = new TicketService(storage, assignmentService, mock(SlaScheduler.class),
+                mock(WebhookDispatcher.class));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", null, "ROLE_USER"));
+        try {
+            List<Ticket> listed = ticketService.getTickets(null, null, null);
+            assertEquals(List.of(2L), listed.stream().map(Ticket::getTicketId).toList());
+            assertEquals(List.of("Public"), listed.get(0).getComments().stream().map(Comment::getContent).toList());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
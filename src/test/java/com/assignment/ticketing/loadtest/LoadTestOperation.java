@@ -0,0 +1,31 @@
+package com.assignment.ticketing.loadtest;
+
+/*
+ * Kinds of requests issued by the load generator.
+ */
+enum LoadTestOperation {
+    CREATE("create"),
+    LIST_USER("listUser"),
+    LIST_AGENT("listAgent"),
+    TRANSITION("transition"),
+    COMMENT("comment");
+
+    private final String mixName;
+
+    LoadTestOperation(String mixName) {
+        this.mixName = mixName;
+    }
+
+    String mixName() {
+        return mixName;
+    }
+
+    static LoadTestOperation fromName(String name) {
+        for (LoadTestOperation operation : values()) {
+            if (operation.mixName.equalsIgnoreCase(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation in mix: " + name);
+    }
+}
@@ -0,0 +1,139 @@
+package com.assignment.ticketing.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/*
+ * Latency bookkeeping of a load test run.
+ * Response time is measured from the moment a request was scheduled to be sent, so stalls of the
+ * system under test are charged to every request that should have been sent meanwhile (no
+ * coordinated omission). Service time, measured from the actual send, is kept for comparison.
+ */
+class LoadTestReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final String CSV_HEADER =
+            "timestamp,label,operation,requests,errors,throughput,p50_ms,p99_ms,p999_ms,max_ms,service_p99_ms";
+
+    private final Map<LoadTestOperation, Recorder> responseRecorders = new EnumMap<>(LoadTestOperation.class);
+    private final Map<LoadTestOperation, Recorder> serviceRecorders = new EnumMap<>(LoadTestOperation.class);
+    private final Map<LoadTestOperation, Histogram> responseTotals = new EnumMap<>(LoadTestOperation.class);
+    private final Map<LoadTestOperation, Histogram> serviceTotals = new EnumMap<>(LoadTestOperation.class);
+    private final Map<LoadTestOperation, LongAdder> errors = new EnumMap<>(LoadTestOperation.class);
+
+    LoadTestReport() {
+        for (LoadTestOperation operation : LoadTestOperation.values()) {
+            responseRecorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            serviceRecorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            responseTotals.put(operation, new Histogram(HIGHEST_TRACKABLE_MICROS, 3));
+            serviceTotals.put(operation, new Histogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(LoadTestOperation operation, long intendedNanos, long sentNanos, long completedNanos, boolean error) {
+        responseRecorders.get(operation).recordValue(toMicros(completedNanos - intendedNanos));
+        serviceRecorders.get(operation).recordValue(toMicros(completedNanos - sentNanos));
+        if (error) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /*
+     * Drops everything recorded so far, e.g. at the end of the warmup.
+     */
+    void reset() {
+        for (LoadTestOperation operation : LoadTestOperation.values()) {
+            responseRecorders.get(operation).reset();
+            serviceRecorders.get(operation).reset();
+            responseTotals.get(operation).reset();
+            serviceTotals.get(operation).reset();
+            errors.get(operation).reset();
+        }
+    }
+
+    /*
+     * Folds the current interval into the totals and prints one line for it.
+     */
+    void printInterval(PrintStream out, double elapsedSeconds, double intervalSeconds) {
+        Histogram interval = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        for (LoadTestOperation operation : LoadTestOperation.values()) {
+            Histogram response = responseRecorders.get(operation).getIntervalHistogram();
+            responseTotals.get(operation).add(response);
+            serviceTotals.get(operation).add(serviceRecorders.get(operation).getIntervalHistogram());
+            interval.add(response);
+        }
+        out.printf("[%7.1fs] %8.1f req/s  p50=%8.2f ms  p99=%8.2f ms  p999=%8.2f ms  max=%8.2f ms%n",
+                elapsedSeconds, interval.getTotalCount() / intervalSeconds,
+                millis(interval, 50), millis(interval, 99), millis(interval, 99.9), interval.getMaxValue() / 1000.0);
+    }
+
+    /*
+     * Prints the summary table and appends it to results.csv so runs can be compared between commits.
+     */
+    void printSummary(PrintStream out, double measuredSeconds, String label, Path outputDirectory) throws IOException {
+        StringBuilder csv = new StringBuilder();
+        String timestamp = Instant.now().toString();
+        Histogram all = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        Histogram allService = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long allErrors = 0;
+
+        out.println();
+        out.printf("Results for %s over %.1f s (response time, coordinated-omission corrected)%n", label, measuredSeconds);
+        out.printf("%-12s %10s %8s %10s %10s %10s %10s %10s %14s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "service p99");
+        for (LoadTestOperation operation : LoadTestOperation.values()) {
+            Histogram response = responseTotals.get(operation);
+            Histogram service = serviceTotals.get(operation);
+            long operationErrors = errors.get(operation).sum();
+            all.add(response);
+            allService.add(service);
+            allErrors += operationErrors;
+            if (response.getTotalCount() > 0) {
+                appendRow(out, csv, timestamp, label, operation.mixName(), response, service, operationErrors, measuredSeconds);
+            }
+        }
+        appendRow(out, csv, timestamp, label, "total", all, allService, allErrors, measuredSeconds);
+
+        Files.createDirectories(outputDirectory);
+        Path results = outputDirectory.resolve("results.csv");
+        if (Files.notExists(results)) {
+            Files.writeString(results, CSV_HEADER + System.lineSeparator());
+        }
+        Files.writeString(results, csv, StandardOpenOption.APPEND);
+        out.println();
+        out.println("Appended to " + results.toAbsolutePath());
+    }
+
+    private void appendRow(PrintStream out, StringBuilder csv, String timestamp, String label, String name,
+            Histogram response, Histogram service, long operationErrors, double seconds) {
+        double throughput = response.getTotalCount() / seconds;
+        out.printf("%-12s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f %14.2f%n",
+                name, response.getTotalCount(), operationErrors, throughput,
+                millis(response, 50), millis(response, 99), millis(response, 99.9),
+                response.getMaxValue() / 1000.0, millis(service, 99));
+        csv.append(String.format("%s,%s,%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                timestamp, label, name, response.getTotalCount(), operationErrors, throughput,
+                millis(response, 50), millis(response, 99), millis(response, 99.9),
+                response.getMaxValue() / 1000.0, millis(service, 99)));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(Math.max(nanos / 1000, 0), HIGHEST_TRACKABLE_MICROS);
+    }
+}
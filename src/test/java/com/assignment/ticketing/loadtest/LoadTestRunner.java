@@ -0,0 +1,263 @@
+package com.assignment.ticketing.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.assignment.ticketing.TicketingApplication;
+import com.assignment.ticketing.model.enums.TicketStatus;
+
+/*
+ * End-to-end load and soak test: boots the whole application on a random local port and drives it
+ * over HTTP, through the API key filter, Spring Security, the service layer and Jackson, with an
+ * open-loop generator that sends requests at a fixed rate regardless of how fast responses come back.
+ *
+ * Run with: mvn -Ploadtest test-compile exec:java -Dloadtest.rate=1000 -Dloadtest.duration=PT5M
+ */
+public class LoadTestRunner {
+
+    private static final String USER_KEY = "loadtest-user-key";
+    private static final String AGENT_KEY = "loadtest-agent-key";
+
+    private final LoadTestSettings settings;
+    private final LoadTestReport report = new LoadTestReport();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final AtomicLong createdTickets = new AtomicLong();
+    private final Queue<Long> transitionable = new ConcurrentLinkedQueue<>();
+    private final Map<Long, TicketStatus> statuses = new ConcurrentHashMap<>();
+    private final LoadTestOperation[] schedule;
+    private String baseUrl;
+
+    LoadTestRunner(LoadTestSettings settings) {
+        this.settings = settings;
+        this.schedule = buildSchedule(settings.mix());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TicketingApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.docker.compose.enabled=false",
+                        "--api.key.user=" + USER_KEY,
+                        "--api.key.agent=" + AGENT_KEY,
+                        "--ticketing.assignment.agents=agent-01,agent-02,agent-03,agent-04,agent-05",
+                        "--logging.level.com.assignment.ticketing=" + settings.logLevel());
+        try {
+            LoadTestRunner runner = new LoadTestRunner(settings);
+            runner.baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            runner.run();
+        } finally {
+            context.close();
+        }
+    }
+
+    void run() throws Exception {
+        String label = settings.label() != null ? settings.label() : gitRevision();
+        System.out.printf("Load test '%s' against %s: %d req/s for %s after %s warmup, mix %s%n",
+                label, baseUrl, settings.rate(), settings.duration(), settings.warmup(), settings.mix());
+        seed();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(settings.rate(), 1);
+        long warmupNanos = settings.warmup().toNanos();
+        long totalNanos = warmupNanos + settings.duration().toNanos();
+        long reportNanos = settings.reportInterval().toNanos();
+        Semaphore inFlight = new Semaphore(settings.maxInFlight());
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        long start = System.nanoTime();
+
+        reporter.schedule(report::reset, warmupNanos, TimeUnit.NANOSECONDS);
+        reporter.scheduleAtFixedRate(
+                () -> report.printInterval(System.out, (System.nanoTime() - start) / 1e9, reportNanos / 1e9),
+                warmupNanos + reportNanos, reportNanos, TimeUnit.NANOSECONDS);
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended - start >= totalNanos) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // Blocking here delays the send but not the intended time, so the wait is still measured.
+            inFlight.acquire();
+            send(schedule[(int) (i % schedule.length)], intended, inFlight);
+        }
+
+        inFlight.acquire(settings.maxInFlight());
+        reporter.shutdownNow();
+        report.printInterval(System.out, (System.nanoTime() - start) / 1e9, reportNanos / 1e9);
+        report.printSummary(System.out, settings.duration().toNanos() / 1e9, label, settings.outputDirectory());
+    }
+
+    private void send(LoadTestOperation operation, long intended, Semaphore inFlight) {
+        Call call = buildCall(operation);
+        long sent = System.nanoTime();
+        client.sendAsync(call.request(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    long completed = System.nanoTime();
+                    boolean error = failure != null || response.statusCode() >= 400;
+                    call.onResponse().accept(!error);
+                    report.record(operation, intended, sent, completed, error);
+                    inFlight.release();
+                });
+    }
+
+    private Call buildCall(LoadTestOperation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String user = "user-" + random.nextInt(settings.users());
+        return switch (operation) {
+            case CREATE -> new Call(post("/api/tickets", USER_KEY,
+                    "{\"userId\":\"" + user + "\",\"subject\":\"Load test\",\"description\":\"Generated ticket\"}"),
+                    succeeded -> {
+                        if (succeeded) {
+                            onCreated();
+                        }
+                    });
+            case LIST_USER -> new Call(get("/api/tickets?userId=" + user, USER_KEY));
+            case LIST_AGENT -> new Call(get("/api/tickets?status=OPEN", AGENT_KEY));
+            case TRANSITION -> transition();
+            case COMMENT -> new Call(post("/api/tickets/" + randomTicket() + "/comments", AGENT_KEY,
+                    "{\"authorId\":\"agent-01\",\"content\":\"Looking into it\",\"visibility\":\""
+                            + (random.nextBoolean() ? "PUBLIC" : "INTERNAL") + "\"}"));
+        };
+    }
+
+    /*
+     * Moves a ticket one step forward in its lifecycle. The ticket stays out of the queue until the
+     * response arrives, so it never has two transitions in flight: it goes back with its new status,
+     * or its old one if the request failed, until it is CLOSED.
+     * When every ticket is closed or in flight, an agent listing is sent instead to keep the rate.
+     */
+    private Call transition() {
+        Long ticketId = transitionable.poll();
+        if (ticketId == null) {
+            return new Call(get("/api/tickets?status=IN_PROGRESS", AGENT_KEY));
+        }
+        TicketStatus next = switch (statuses.get(ticketId)) {
+            case OPEN -> TicketStatus.IN_PROGRESS;
+            case IN_PROGRESS -> TicketStatus.RESOLVED;
+            default -> TicketStatus.CLOSED;
+        };
+        return new Call(patch("/api/tickets/" + ticketId + "/status", AGENT_KEY, "{\"status\":\"" + next + "\"}"),
+                succeeded -> {
+                    if (succeeded) {
+                        statuses.put(ticketId, next);
+                    }
+                    if (!succeeded || next != TicketStatus.CLOSED) {
+                        transitionable.add(ticketId);
+                    }
+                });
+    }
+
+    /*
+     * Ticket IDs are allocated sequentially by the freshly started application.
+     */
+    private void onCreated() {
+        long ticketId = createdTickets.incrementAndGet();
+        statuses.put(ticketId, TicketStatus.OPEN);
+        transitionable.add(ticketId);
+    }
+
+    private long randomTicket() {
+        return 1 + ThreadLocalRandom.current().nextLong(Math.max(createdTickets.get(), 1));
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        for (int i = 0; i < settings.seedTickets(); i++) {
+            Call call = buildCall(LoadTestOperation.CREATE);
+            HttpResponse<Void> response = client.send(call.request(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode());
+            }
+            call.onResponse().accept(true);
+        }
+    }
+
+    private HttpRequest get(String path, String apiKey) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("X-API-KEY", apiKey)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String apiKey, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("X-API-KEY", apiKey)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private HttpRequest patch(String path, String apiKey, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("X-API-KEY", apiKey)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    /*
+     * Builds a fixed cycle of operations matching the mix weights, shuffled with a constant seed so
+     * that every run issues the same sequence.
+     */
+    private static LoadTestOperation[] buildSchedule(Map<LoadTestOperation, Integer> mix) {
+        List<LoadTestOperation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        Collections.shuffle(slots, new Random(42));
+        return slots.toArray(LoadTestOperation[]::new);
+    }
+
+    private static String gitRevision() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").start();
+            String revision = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return process.waitFor() == 0 && !revision.isEmpty() ? revision : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    /*
+     * A request, and the update of the generator state to apply once its response arrives.
+     */
+    private record Call(HttpRequest request, Consumer<Boolean> onResponse) {
+
+        Call(HttpRequest request) {
+            this(request, succeeded -> { });
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.assignment.ticketing.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+ * Load test parameters, read from -Dloadtest.* system properties.
+ */
+record LoadTestSettings(
+        int rate,
+        Duration duration,
+        Duration warmup,
+        Duration reportInterval,
+        int maxInFlight,
+        int users,
+        int seedTickets,
+        Map<LoadTestOperation, Integer> mix,
+        String logLevel,
+        Path outputDirectory,
+        String label) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.rate", 500),
+                Duration.parse(System.getProperty("loadtest.duration", "PT60S")),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                Duration.parse(System.getProperty("loadtest.reportInterval", "PT10S")),
+                Integer.getInteger("loadtest.maxInFlight", 512),
+                Integer.getInteger("loadtest.users", 100),
+                Integer.getInteger("loadtest.seedTickets", 1000),
+                parseMix(System.getProperty("loadtest.mix",
+                        "create:20,listUser:25,listAgent:15,transition:20,comment:20")),
+                System.getProperty("loadtest.logLevel", "WARN"),
+                Path.of(System.getProperty("loadtest.output", "target/loadtest")),
+                System.getProperty("loadtest.label"));
+    }
+
+    /*
+     * Parses a mix such as "create:20,listUser:30" into operation weights.
+     */
+    static Map<LoadTestOperation, Integer> parseMix(String mix) {
+        Map<LoadTestOperation, Integer> weights = new EnumMap<>(LoadTestOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            weights.put(LoadTestOperation.fromName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix must have a positive total weight: " + mix);
+        }
+        return weights;
+    }
+}
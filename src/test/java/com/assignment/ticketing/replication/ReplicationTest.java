@@ -0,0 +1,238 @@
+package com.assignment.ticketing.replication;
+
+import com.assignment.ticketing.config.ReplicationConfig;
+import com.assignment.ticketing.model.domain.Comment;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.CommentVisibility;
+import com.assignment.ticketing.model.enums.TicketSortField;
+import com.assignment.ticketing.model.enums.TicketStatus;
+import com.assignment.ticketing.repository.TicketChangeListener;
+import com.assignment.ticketing.repository.TicketQuery;
+import com.assignment.ticketing.storage.InMemoryStorage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/*
+ * Runs a leader and a follower in the same JVM, connected over a real socket on localhost.
+ */
+public class ReplicationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AtomicInteger leaderPort = new AtomicInteger();
+    private ReplicationConfig replicationConfig;
+    private ReplicationLog replicationLog;
+    private InMemoryStorage leaderStorage;
+    private ReplicationLeader leader;
+    private ReplicationFollower follower;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        replicationConfig = mock(ReplicationConfig.class);
+        when(replicationConfig.getPort()).thenReturn(0);
+        when(replicationConfig.getBindAddress()).thenReturn("localhost");
+        when(replicationConfig.getLeaderHost()).thenReturn("localhost");
+        when(replicationConfig.getBatchSize()).thenReturn(2);
+        when(replicationConfig.getLogCapacity()).thenReturn(4);
+        when(replicationConfig.getHeartbeat()).thenReturn(Duration.ofMillis(50));
+
+        startLeader();
+        when(replicationConfig.getLeaderPort()).thenAnswer(invocation -> leaderPort.get());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (follower != null) {
+            follower.stop();
+        }
+        leader.stop();
+    }
+
+    @Test
+    void follower_shouldCatchUpFromSnapshotThenStreamWrites() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            leaderStorage.save(newTicket("Existing " + i));
+        }
+        InMemoryStorage followerStorage = new InMemoryStorage();
+        follower = new ReplicationFollower(followerStorage, objectMapper, replicationConfig);
+        follower.start();
+
+        awaitUntil(() -> followerStorage.findByFilter(null, null, null).size() == 5);
+
+        Long id = leaderStorage.save(newTicket("Streamed")).getTicketId();
+        leaderStorage.transitionStatus(id, TicketStatus.OPEN, TicketStatus.IN_PROGRESS);
+        leaderStorage.addComment(id, new Comment(null, null, "agent-01", "On it", CommentVisibility.PUBLIC, null));
+
+        awaitUntil(() -> followerStorage.findById(id)
+                .filter(ticket -> ticket.getStatus() == TicketStatus.IN_PROGRESS && ticket.getComments().size() == 1)
+                .isPresent());
+        awaitUntil(() -> follower.status().lagEntries() == 0);
+        assertEquals(replicationLog.headSequence(), follower.status().appliedSequence());
+        assertEquals(leaderStorage.findById(id).orElseThrow().getVersion(),
+                followerStorage.findById(id).orElseThrow().getVersion());
+        assertEquals(1, leader.status().followers());
+    }
+
+    @Test
+    void follower_shouldReloadEverythingWhenTheLeaderRestarts() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            leaderStorage.save(newTicket("Before restart " + i));
+        }
+        leaderStorage.addComment(3L, new Comment(null, null, "agent-01", "On it", CommentVisibility.PUBLIC, null));
+        InMemoryStorage followerStorage = new InMemoryStorage();
+        follower = new ReplicationFollower(followerStorage, objectMapper, replicationConfig);
+        follower.start();
+        awaitUntil(() -> follower.status().appliedSequence() == 4);
+
+        // The restarted leader's log reaches past the follower's sequence with lower versions.
+        leader.stop();
+        startLeader();
+        for (int i = 0; i < 5; i++) {
+            leaderStorage.save(newTicket("After restart " + i));
+        }
+
+        awaitUntil(() -> followerStorage.findByFilter(null, null, null).size() == 5
+                && followerStorage.findByFilter(null, null, null).stream()
+                        .allMatch(ticket -> ticket.getSubject().startsWith("After restart")));
+        assertTrue(followerStorage.findById(3L).orElseThrow().getComments().isEmpty());
+        assertEquals(1, followerStorage.findById(3L).orElseThrow().getVersion());
+        awaitUntil(() -> follower.status().appliedSequence() == 5);
+    }
+
+    @Test
+    void follower_shouldKeepServingTheOldStateUntilTheNewSnapshotIsComplete() {
+        InMemoryStorage followerStorage = new InMemoryStorage();
+        ReplicationFollower resyncing = new ReplicationFollower(followerStorage, objectMapper, replicationConfig);
+        resyncing.apply(frame(ReplicationFrame.Type.SNAPSHOT, "run-1", 3,
+                replicated(1L, "Old 1", 2), replicated(2L, "Old 2", 3), replicated(3L, "Old 3", 1)));
+        resyncing.apply(frame(ReplicationFrame.Type.SNAPSHOT_END, "run-1", 3));
+        List<String> old = List.of("Old 1", "Old 2", "Old 3");
+        assertEquals(old, subjects(followerStorage));
+
+        // The restarted leader holds fewer tickets, with versions starting over.
+        resyncing.apply(frame(ReplicationFrame.Type.SNAPSHOT, "run-2", 2, replicated(1L, "New 1", 1)));
+        assertEquals(old, subjects(followerStorage));
+        resyncing.apply(frame(ReplicationFrame.Type.SNAPSHOT, "run-2", 2, replicated(2L, "New 2", 1)));
+        assertEquals(old, subjects(followerStorage));
+        assertEquals(3, resyncing.status().appliedSequence());
+
+        resyncing.apply(frame(ReplicationFrame.Type.SNAPSHOT_END, "run-2", 2));
+        assertEquals(List.of("New 1", "New 2"), subjects(followerStorage));
+        assertEquals(1, followerStorage.findById(2L).orElseThrow().getVersion());
+        assertEquals(2, resyncing.status().appliedSequence());
+        assertEquals(3L, followerStorage.save(newTicket("Next")).getTicketId());
+    }
+
+    @Test
+    void leader_shouldListenOnLoopbackOnly() throws Exception {
+        assertTrue(leader.getAddress().isLoopbackAddress());
+
+        when(replicationConfig.getBindAddress()).thenReturn("0.0.0.0");
+        ReplicationLeader exposed = new ReplicationLeader(replicationLog, leaderStorage, objectMapper, replicationConfig);
+        assertThrows(IllegalStateException.class, exposed::start);
+    }
+
+    @Test
+    void leader_shouldRejectFollowersWithoutTheToken() throws Exception {
+        leaderStorage.save(newTicket("Secret"));
+        leader.stop();
+        when(replicationConfig.getToken()).thenReturn("replication-secret");
+        startLeader();
+
+        assertNull(subscribe("wrong-secret"), "the leader closes the connection");
+        assertNull(subscribe(null), "the leader closes the connection");
+        assertTrue(subscribe("replication-secret").contains("SNAPSHOT"));
+    }
+
+    @Test
+    void replicate_shouldIgnoreOlderVersions() {
+        InMemoryStorage followerStorage = new InMemoryStorage();
+        Ticket newer = newTicket("Newer");
+        newer.setTicketId(7L);
+        newer.setVersion(3);
+        Ticket older = newer.withSubject("Older").withVersion(2);
+
+        followerStorage.replicate(newer);
+        followerStorage.replicate(older);
+
+        assertEquals("Newer", followerStorage.findById(7L).orElseThrow().getSubject());
+        assertEquals(8L, followerStorage.save(newTicket("Next")).getTicketId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void startLeader() throws Exception {
+        replicationLog = new ReplicationLog(replicationConfig);
+        ObjectProvider<TicketChangeListener> listeners = mock(ObjectProvider.class);
+        when(listeners.orderedStream()).thenReturn(Stream.of(replicationLog));
+        leaderStorage = new InMemoryStorage(listeners);
+        leader = new ReplicationLeader(replicationLog, leaderStorage, objectMapper, replicationConfig);
+        leader.start();
+        leaderPort.set(leader.getPort());
+    }
+
+    /*
+     * Subscribes over a raw socket and returns the first frame the leader sends, or null if it hangs up.
+     */
+    private String subscribe(String token) throws Exception {
+        try (Socket socket = new Socket("localhost", leader.getPort())) {
+            socket.setSoTimeout(5_000);
+            Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            writer.write(objectMapper.writeValueAsString(ReplicationFrame.subscribe(token, null, 0)) + "\n");
+            writer.flush();
+            return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)).readLine();
+        }
+    }
+
+    private static ReplicationFrame frame(ReplicationFrame.Type type, String runId, long sequence, Ticket... tickets) {
+        return new ReplicationFrame(type, runId, sequence, sequence, System.currentTimeMillis(), List.of(tickets), null);
+    }
+
+    private Ticket replicated(long id, String subject, long version) {
+        Ticket ticket = newTicket(subject);
+        ticket.setTicketId(id);
+        ticket.setVersion(version);
+        ticket.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(id));
+        ticket.setUpdatedAt(ticket.getCreatedAt());
+        return ticket;
+    }
+
+    private static List<String> subjects(InMemoryStorage storage) {
+        return storage.findByQuery(new TicketQuery(null, null, null, null, null, null, TicketSortField.CREATED_AT, false, null))
+                .stream()
+                .map(Ticket::getSubject)
+                .toList();
+    }
+
+    private Ticket newTicket(String subject) {
+        Ticket ticket = new Ticket();
+        ticket.setSubject(subject);
+        ticket.setStatus(TicketStatus.OPEN);
+        return ticket;
+    }
+
+    private void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 10 seconds");
+            Thread.sleep(20);
+        }
+    }
+}
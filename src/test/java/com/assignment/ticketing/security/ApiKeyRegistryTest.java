@@ -0,0 +1,112 @@
+package com.assignment.ticketing.security;
+
+import com.assignment.ticketing.config.ApiKeyConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ApiKeyRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    private Path keyFile;
+    private ApiKeyConfig apiKeyConfig;
+
+    @BeforeEach
+    void setUp() {
+        keyFile = directory.resolve("api-keys.csv");
+        apiKeyConfig = mock(ApiKeyConfig.class);
+        when(apiKeyConfig.getUser()).thenReturn("user-key");
+        when(apiKeyConfig.getAgent()).thenReturn("agent-key");
+        when(apiKeyConfig.getFile()).thenReturn(keyFile.toString());
+        when(apiKeyConfig.getReloadInterval()).thenReturn(Duration.ZERO);
+    }
+
+    @Test
+    void authenticate_shouldResolveThousandsOfKeysToCachedAuthentications() throws Exception {
+        StringBuilder file = new StringBuilder("# name,role,sha256\n");
+        for (int i = 0; i < 5_000; i++) {
+            file.append("integration-").append(i).append(',').append(i % 2 == 0 ? "agent" : "user")
+                    .append(',').append(sha256("key-" + i)).append('\n');
+        }
+        Files.writeString(keyFile, file);
+
+        ApiKeyRegistry registry = new ApiKeyRegistry(apiKeyConfig);
+
+        assertEquals(5_002, registry.size());
+        for (int i = 0; i < 5_000; i++) {
+            Authentication authentication = registry.authenticate("key-" + i);
+            assertEquals("integration-" + i, authentication.getName());
+            assertEquals(i % 2 == 0 ? "ROLE_AGENT" : "ROLE_USER", role(authentication));
+        }
+        assertSame(registry.authenticate("key-7"), registry.authenticate("key-7"));
+        assertEquals("ROLE_AGENT", role(registry.authenticate("agent-key")));
+        assertEquals("ROLE_USER", role(registry.authenticate("user-key")));
+        assertNull(registry.authenticate("key-5000"));
+        assertNull(registry.authenticate(""));
+        assertNull(registry.authenticate(null));
+    }
+
+    @Test
+    void reloadIfModified_shouldSwapInTheNewFileAndKeepTheOldOneOnErrors() throws Exception {
+        Files.writeString(keyFile, "crm,agent," + sha256("crm-key") + "\n");
+        ApiKeyRegistry registry = new ApiKeyRegistry(apiKeyConfig);
+        assertNotNull(registry.authenticate("crm-key"));
+
+        write("billing,user," + sha256("billing-key") + "\n", 1);
+        registry.reloadIfModified();
+        assertNull(registry.authenticate("crm-key"));
+        assertEquals("billing", registry.authenticate("billing-key").getName());
+
+        write("billing,admin," + sha256("billing-key") + "\n", 2);
+        registry.reloadIfModified();
+        assertEquals("billing", registry.authenticate("billing-key").getName());
+
+        write("a,user," + sha256("same") + "\nb,agent," + sha256("same") + "\n", 3);
+        assertFalse(registry.reload());
+        assertEquals(3, registry.size());
+    }
+
+    @Test
+    void constructor_shouldFailOnAnInvalidFileAndWorkWithoutOne() throws IOException {
+        Files.writeString(keyFile, "crm,agent,not-a-digest\n");
+        assertThrows(IllegalStateException.class, () -> new ApiKeyRegistry(apiKeyConfig));
+
+        when(apiKeyConfig.getFile()).thenReturn("");
+        ApiKeyRegistry registry = new ApiKeyRegistry(apiKeyConfig);
+        assertEquals(2, registry.size());
+        assertEquals("ROLE_AGENT", role(registry.authenticate("agent-key")));
+    }
+
+    private void write(String content, int secondsLater) throws IOException {
+        Files.writeString(keyFile, content);
+        // File systems with a coarse timestamp resolution could otherwise miss the change.
+        Files.setLastModifiedTime(keyFile, FileTime.from(Instant.now().plusSeconds(secondsLater)));
+    }
+
+    private static String role(Authentication authentication) {
+        return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).findFirst().orElseThrow();
+    }
+
+    private static String sha256(String key) throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8)));
+    }
+}
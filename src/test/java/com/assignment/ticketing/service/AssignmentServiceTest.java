@@ -0,0 +1,97 @@
+package com.assignment.ticketing.service;
+
+import com.assignment.ticketing.config.AssignmentConfig;
+import com.assignment.ticketing.model.domain.AgentLoad;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.TicketStatus;
+import com.assignment.ticketing.storage.InMemoryStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AssignmentServiceTest {
+
+    private AssignmentService assignmentService;
+
+    @BeforeEach
+    void setUp() {
+        AssignmentConfig assignmentConfig = mock(AssignmentConfig.class);
+        when(assignmentConfig.getAgents()).thenReturn(List.of("agent-01", "agent-02", "agent-03"));
+        assignmentService = new AssignmentService(assignmentConfig);
+    }
+
+    @Test
+    void assign_shouldPickLeastLoadedAgent() {
+        assertEquals(Optional.of("agent-01"), assignmentService.assign());
+        assertEquals(Optional.of("agent-02"), assignmentService.assign());
+        assertEquals(Optional.of("agent-03"), assignmentService.assign());
+
+        assignmentService.release("agent-02");
+
+        assertEquals(Optional.of("agent-02"), assignmentService.assign());
+    }
+
+    @Test
+    void assign_shouldReturnEmptyWithoutAgents() {
+        AssignmentConfig assignmentConfig = mock(AssignmentConfig.class);
+        when(assignmentConfig.getAgents()).thenReturn(List.of());
+
+        assertTrue(new AssignmentService(assignmentConfig).assign().isEmpty());
+    }
+
+    @Test
+    void release_shouldIgnoreUnknownOrIdleAgents() {
+        assignmentService.release("agent-99");
+        assignmentService.release("agent-01");
+        assignmentService.release(null);
+
+        assertTrue(assignmentService.getLoads().stream().allMatch(load -> load.activeTickets() == 0));
+    }
+
+    @Test
+    void assignmentService_shouldSeedLoadsFromActiveTicketsInTheRepository() {
+        AssignmentConfig assignmentConfig = mock(AssignmentConfig.class);
+        when(assignmentConfig.getAgents()).thenReturn(List.of("agent-01", "agent-02", "agent-03"));
+        InMemoryStorage storage = new InMemoryStorage();
+        storage.save(ticket("agent-01", TicketStatus.OPEN));
+        storage.save(ticket("agent-01", TicketStatus.IN_PROGRESS));
+        storage.save(ticket("agent-02", TicketStatus.IN_PROGRESS));
+        storage.save(ticket("agent-03", TicketStatus.CLOSED));
+        storage.save(ticket("agent-99", TicketStatus.OPEN));
+
+        AssignmentService seeded = new AssignmentService(assignmentConfig, storage);
+
+        assertEquals(List.of(new AgentLoad("agent-03", 0), new AgentLoad("agent-02", 1), new AgentLoad("agent-01", 2)),
+                seeded.getLoads());
+        assertEquals(Optional.of("agent-03"), seeded.assign());
+    }
+
+    @Test
+    void assign_shouldBalanceLoadUnderConcurrentCreates() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 3000; i++) {
+            executor.submit(() -> assignmentService.assign());
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        List<AgentLoad> loads = assignmentService.getLoads();
+        assertEquals(3, loads.size());
+        assertTrue(loads.stream().allMatch(load -> load.activeTickets() == 1000));
+    }
+
+    private static Ticket ticket(String assigneeId, TicketStatus status) {
+        Ticket ticket = new Ticket();
+        ticket.setAssigneeId(assigneeId);
+        ticket.setStatus(status);
+        return ticket;
+    }
+}
@@ -0,0 +1,158 @@
+package com.assignment.ticketing.service;
+
+import com.assignment.ticketing.repository.TicketQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketListCoalescerTest {
+
+    private static final TicketQuery OPEN = TicketQuery.filter("OPEN", null, null);
+
+    private SimpleMeterRegistry meterRegistry;
+    private TicketListCoalescer coalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new TicketListCoalescer(meterRegistry);
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void execute_shouldShareOneComputationBetweenConcurrentIdenticalQueries() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        List<Future<byte[]>> results = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> asAgent(() -> coalescer.execute(OPEN, () -> {
+                computations.incrementAndGet();
+                await(release);
+                return "[]".getBytes(StandardCharsets.UTF_8);
+            }))));
+        }
+        waitUntil(() -> count("executed") + count("coalesced") == 8);
+        release.countDown();
+
+        byte[] first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<byte[]> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get());
+        assertEquals(1, count("executed"));
+        assertEquals(7, count("coalesced"));
+    }
+
+    @Test
+    void execute_shouldNotShareBetweenRolesOrAfterCompletion() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        Future<byte[]> agent = executor.submit(() -> asAgent(() -> coalescer.execute(OPEN, () -> {
+            computations.incrementAndGet();
+            await(release);
+            return new byte[0];
+        })));
+        waitUntil(() -> computations.get() == 1);
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", null, "ROLE_USER"));
+        coalescer.execute(OPEN, () -> new byte[computations.incrementAndGet()]);
+        release.countDown();
+        agent.get(5, TimeUnit.SECONDS);
+        coalescer.execute(OPEN, () -> new byte[computations.incrementAndGet()]);
+
+        assertEquals(3, computations.get());
+        assertEquals(0, count("coalesced"));
+    }
+
+    @Test
+    void execute_shouldPropagateFailuresToEveryWaiter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<byte[]>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(executor.submit(() -> asAgent(() -> coalescer.execute(OPEN, () -> {
+                await(release);
+                throw new IllegalArgumentException("limit must be positive");
+            }))));
+        }
+        waitUntil(() -> count("executed") + count("coalesced") == 3);
+        release.countDown();
+
+        for (Future<byte[]> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        }
+        assertEquals(0.0, meterRegistry.get("ticketing.tickets.list.in-flight").gauge().value());
+    }
+
+    @Test
+    void execute_shouldReleaseWaitersWhenTheComputationThrowsAnError() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<byte[]>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(executor.submit(() -> asAgent(() -> coalescer.execute(OPEN, () -> {
+                await(release);
+                throw new OutOfMemoryError("Java heap space");
+            }))));
+        }
+        waitUntil(() -> count("executed") + count("coalesced") == 3);
+        release.countDown();
+
+        for (Future<byte[]> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(OutOfMemoryError.class, e.getCause());
+        }
+        assertEquals(0.0, meterRegistry.get("ticketing.tickets.list.in-flight").gauge().value());
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("ticketing.tickets.list.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static <T> T asAgent(java.util.function.Supplier<T> action) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("agent", null, "ROLE_AGENT"));
+        try {
+            return action.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+}
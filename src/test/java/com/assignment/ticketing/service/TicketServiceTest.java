@@ -1,10 +1,19 @@
 package com.assignment.ticketing.service;
 
+import com.assignment.ticketing.exception.TicketVersionConflictException;
+import com.assignment.ticketing.model.domain.Comment;
 import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.CommentVisibility;
 import com.assignment.ticketing.model.enums.TicketStatus;
 import com.assignment.ticketing.repository.TicketRepository;
+import com.assignment.ticketing.sla.SlaScheduler;
+import com.assignment.ticketing.webhook.TicketEventType;
+import com.assignment.ticketing.webhook.WebhookDispatcher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -14,12 +23,19 @@ import static org.mockito.Mockito.*;
 public class TicketServiceTest {
 
     private TicketRepository ticketRepository;
+    private AssignmentService assignmentService;
+    private SlaScheduler slaScheduler;
+    private WebhookDispatcher webhookDispatcher;
     private TicketService ticketService;
 
     @BeforeEach
     void setUp() {
         ticketRepository = mock(TicketRepository.class);
-        ticketService = new TicketService(ticketRepository);
+        assignmentService = mock(AssignmentService.class);
+        when(assignmentService.assign()).thenReturn(Optional.empty());
+        slaScheduler = mock(SlaScheduler.class);
+        webhookDispatcher = mock(WebhookDispatcher.class);
+        ticketService = new TicketService(ticketRepository, assignmentService, slaScheduler, webhookDispatcher);
     }
 
     @Test
@@ -31,6 +47,46 @@ public class TicketServiceTest {
 
         assertEquals(ticket, result);
         verify(ticketRepository).save(ticket);
+        verify(slaScheduler).arm(ticket);
+        verify(webhookDispatcher).publish(argThat(event -> event.type() == TicketEventType.TICKET_CREATED));
+    }
+
+    @Test
+    void createTicket_shouldAssignLeastLoadedAgent() {
+        Ticket ticket = new Ticket();
+        when(assignmentService.assign()).thenReturn(Optional.of("agent-01"));
+        when(ticketRepository.save(ticket)).thenReturn(ticket);
+
+        Ticket result = ticketService.createTicket(ticket);
+
+        assertEquals("agent-01", result.getAssigneeId());
+    }
+
+    @Test
+    void createTicket_shouldReleaseTheAgentWhenTheSaveFails() {
+        Ticket ticket = new Ticket();
+        when(assignmentService.assign()).thenReturn(Optional.of("agent-01"));
+        when(ticketRepository.save(ticket)).thenThrow(new IllegalStateException("Storage is shut down"));
+
+        assertThrows(IllegalStateException.class, () -> ticketService.createTicket(ticket));
+
+        verify(assignmentService).release("agent-01");
+        verifyNoInteractions(slaScheduler, webhookDispatcher);
+    }
+
+    @Test
+    void updateTicketStatus_shouldReleaseAssigneeWhenResolved() {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(1L);
+        ticket.setStatus(TicketStatus.IN_PROGRESS);
+        ticket.setAssigneeId("agent-01");
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
+        when(ticketRepository.transitionStatus(1L, TicketStatus.IN_PROGRESS, TicketStatus.RESOLVED, null))
+                .thenReturn(Optional.of(ticket.withStatus(TicketStatus.RESOLVED)));
+
+        ticketService.updateTicketStatus(1L, TicketStatus.RESOLVED);
+
+        verify(assignmentService).release("agent-01");
     }
 
     @Test
@@ -39,7 +95,8 @@ public class TicketServiceTest {
         ticket.setTicketId(1L);
         ticket.setStatus(TicketStatus.OPEN);
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
-        when(ticketRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(ticketRepository.transitionStatus(1L, TicketStatus.OPEN, TicketStatus.IN_PROGRESS, null))
+                .thenReturn(Optional.of(ticket.withStatus(TicketStatus.IN_PROGRESS)));
 
         Optional<Ticket> result = ticketService.updateTicketStatus(1L, TicketStatus.IN_PROGRESS);
 
@@ -58,4 +115,59 @@ public class TicketServiceTest {
             ticketService.updateTicketStatus(1L, TicketStatus.OPEN);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateTicketStatus_shouldRevalidateAfterLosingRace() {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(1L);
+        ticket.setStatus(TicketStatus.OPEN);
+        when(ticketRepository.findById(1L))
+                .thenReturn(Optional.of(ticket))
+                .thenReturn(Optional.of(ticket.withStatus(TicketStatus.IN_PROGRESS)));
+        when(ticketRepository.transitionStatus(1L, TicketStatus.OPEN, TicketStatus.IN_PROGRESS, null))
+                .thenThrow(new TicketVersionConflictException(1L, 2L));
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            ticketService.updateTicketStatus(1L, TicketStatus.IN_PROGRESS);
+        });
+    }
+
+    @Test
+    void updateTicketStatus_shouldThrowIfVersionIsStale() {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(1L);
+        ticket.setStatus(TicketStatus.OPEN);
+        ticket.setVersion(3L);
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
+
+        assertThrows(TicketVersionConflictException.class, () -> {
+            ticketService.updateTicketStatus(1L, TicketStatus.IN_PROGRESS, 2L);
+        });
+        verify(ticketRepository, never()).transitionStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    void addComment_shouldPublishTheVersionTheCommentProduced() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("agent", null, "ROLE_AGENT"));
+        try {
+            Ticket ticket = new Ticket();
+            ticket.setTicketId(1L);
+            ticket.setStatus(TicketStatus.OPEN);
+            ticket.setVersion(4L);
+            Comment comment = new Comment(null, null, "agent-01", "On it", CommentVisibility.INTERNAL, null);
+            when(ticketRepository.addComment(1L, comment)).thenAnswer(invocation -> {
+                comment.setCommentId(9L);
+                return Optional.of(ticket);
+            });
+            // A later write that must not leak into the event.
+            when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket.withVersion(5L)));
+
+            assertEquals(Optional.of(comment), ticketService.addComment(1L, comment));
+
+            verify(webhookDispatcher).publish(argThat(event -> event.type() == TicketEventType.COMMENT_ADDED
+                    && event.version() == 4L && event.commentId() == 9L));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
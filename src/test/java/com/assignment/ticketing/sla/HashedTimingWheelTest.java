@@ -0,0 +1,58 @@
+package com.assignment.ticketing.sla;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HashedTimingWheelTest {
+
+    @Test
+    void advance_shouldExpireTimeoutAtItsDeadline() {
+        HashedTimingWheel wheel = new HashedTimingWheel(8);
+        List<String> fired = new ArrayList<>();
+        wheel.schedule(() -> fired.add("three"), 3);
+
+        assertEquals(0, wheel.advance());
+        assertEquals(0, wheel.advance());
+        assertEquals(1, wheel.advance());
+        assertEquals(List.of("three"), fired);
+        assertEquals(0, wheel.pendingTimeouts());
+    }
+
+    @Test
+    void advance_shouldHandleDelaysLongerThanOneRotation() {
+        HashedTimingWheel wheel = new HashedTimingWheel(4);
+        List<Integer> fired = new ArrayList<>();
+        for (int delay : new int[] {4, 5, 9}) {
+            wheel.schedule(() -> fired.add(delay), delay);
+        }
+
+        for (int tick = 1; tick <= 9; tick++) {
+            wheel.advance();
+            if (tick == 4) assertEquals(List.of(4), fired);
+            if (tick == 8) assertEquals(List.of(4, 5), fired);
+        }
+        assertEquals(List.of(4, 5, 9), fired);
+    }
+
+    @Test
+    void cancel_shouldPreventExpiry() {
+        HashedTimingWheel wheel = new HashedTimingWheel(8);
+        List<String> fired = new ArrayList<>();
+        HashedTimingWheel.Timeout beforeTransfer = wheel.schedule(() -> fired.add("before"), 2);
+        HashedTimingWheel.Timeout afterTransfer = wheel.schedule(() -> fired.add("after"), 3);
+
+        assertTrue(beforeTransfer.cancel());
+        wheel.advance();
+        assertTrue(afterTransfer.cancel());
+        assertFalse(afterTransfer.cancel());
+        wheel.advance();
+        wheel.advance();
+
+        assertTrue(fired.isEmpty());
+        assertEquals(0, wheel.pendingTimeouts());
+    }
+}
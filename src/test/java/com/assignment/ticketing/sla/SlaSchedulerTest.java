@@ -0,0 +1,88 @@
+package com.assignment.ticketing.sla;
+
+import com.assignment.ticketing.config.SlaConfig;
+import com.assignment.ticketing.model.domain.Comment;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.CommentVisibility;
+import com.assignment.ticketing.model.enums.TicketStatus;
+import com.assignment.ticketing.repository.TicketRepository;
+import com.assignment.ticketing.service.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class SlaSchedulerTest {
+
+    private TicketRepository ticketRepository;
+    private TicketService ticketService;
+    private SlaScheduler slaScheduler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ticketRepository = mock(TicketRepository.class);
+        ticketService = mock(TicketService.class);
+        ObjectProvider<TicketService> ticketServiceProvider = mock(ObjectProvider.class);
+        when(ticketServiceProvider.getObject()).thenReturn(ticketService);
+        SlaConfig slaConfig = mock(SlaConfig.class);
+        when(slaConfig.getOpen()).thenReturn(Duration.ofHours(4));
+        when(slaConfig.getInProgress()).thenReturn(Duration.ofHours(24));
+        when(slaConfig.getTick()).thenReturn(Duration.ofSeconds(1));
+        when(slaConfig.getWheelSize()).thenReturn(64);
+        slaScheduler = new SlaScheduler(ticketRepository, ticketServiceProvider, slaConfig);
+    }
+
+    @Test
+    void arm_shouldReplaceTimerOnTransitionAndCancelOnInactiveStatus() {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(1L);
+        ticket.setStatus(TicketStatus.OPEN);
+
+        slaScheduler.arm(ticket);
+        assertEquals(1, slaScheduler.pendingTimers());
+
+        ticket.setStatus(TicketStatus.IN_PROGRESS);
+        slaScheduler.arm(ticket);
+        assertEquals(1, slaScheduler.pendingTimers());
+
+        ticket.setStatus(TicketStatus.RESOLVED);
+        slaScheduler.arm(ticket);
+        assertEquals(0, slaScheduler.pendingTimers());
+    }
+
+    @Test
+    void escalate_shouldAddInternalCommentThroughTheServiceWhenStillInStatus() {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(1L);
+        ticket.setStatus(TicketStatus.OPEN);
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
+
+        slaScheduler.escalate(1L, TicketStatus.OPEN, Duration.ofHours(4));
+
+        ArgumentCaptor<Comment> comment = ArgumentCaptor.forClass(Comment.class);
+        verify(ticketService).addSystemComment(eq(1L), comment.capture());
+        assertEquals(CommentVisibility.INTERNAL, comment.getValue().getVisibility());
+        assertEquals(SlaScheduler.ESCALATION_AUTHOR, comment.getValue().getAuthorId());
+    }
+
+    @Test
+    void escalate_shouldIgnoreTicketThatAlreadyMovedOn() {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(1L);
+        ticket.setStatus(TicketStatus.RESOLVED);
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
+
+        slaScheduler.escalate(1L, TicketStatus.OPEN, Duration.ofHours(4));
+
+        verify(ticketService, never()).addSystemComment(any(), any());
+    }
+}
@@ -0,0 +1,49 @@
+package com.assignment.ticketing.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Starts every thread at once on the same operation, for the contention tests and benchmarks.
+ */
+final class ConcurrentRunner {
+
+    private ConcurrentRunner() {
+    }
+
+    /*
+     * Runs the operation `iterations` times on each of `threads` threads and returns the elapsed
+     * time in nanoseconds, measured from the moment the threads are released.
+     */
+    static long run(int threads, int iterations, Runnable operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Callable<Void> worker = () -> {
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    operation.run();
+                }
+                return null;
+            };
+            futures.add(executor.submit(worker));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            return System.nanoTime() - begin;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
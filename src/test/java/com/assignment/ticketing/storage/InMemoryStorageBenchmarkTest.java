@@ -0,0 +1,70 @@
+package com.assignment.ticketing.storage;
+
+import com.assignment.ticketing.exception.TicketVersionConflictException;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.TicketStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Throughput benchmark of the compare-and-set write path, printed for comparison between commits.
+ * Excluded from the default build; run with: mvn -Pbenchmark test
+ */
+@Tag("benchmark")
+public class InMemoryStorageBenchmarkTest {
+
+    private static final int THREADS = 8;
+
+    private InMemoryStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new InMemoryStorage();
+    }
+
+    @Test
+    void transitionStatus_benchmarkAcrossHotTickets() throws Exception {
+        int hotTickets = 16;
+        int cyclesPerThread = 20_000;
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < hotTickets; i++) {
+            Ticket ticket = new Ticket();
+            ticket.setStatus(TicketStatus.OPEN);
+            ids.add(storage.save(ticket).getTicketId());
+        }
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        AtomicInteger cursor = new AtomicInteger();
+
+        long elapsed = ConcurrentRunner.run(THREADS, cyclesPerThread, () -> {
+            Long id = ids.get(Math.floorMod(cursor.getAndIncrement(), hotTickets));
+            Ticket current = storage.findById(id).orElseThrow();
+            TicketStatus next = current.getStatus() == TicketStatus.OPEN ? TicketStatus.IN_PROGRESS : TicketStatus.OPEN;
+            try {
+                storage.transitionStatus(id, current.getStatus(), next, current.getVersion());
+                applied.incrementAndGet();
+            } catch (TicketVersionConflictException e) {
+                conflicts.incrementAndGet();
+            }
+        });
+
+        long versions = ids.stream().mapToLong(id -> storage.findById(id).orElseThrow().getVersion() - 1).sum();
+        assertEquals(applied.get(), versions);
+        assertEquals(THREADS * cyclesPerThread, applied.get() + conflicts.get());
+        report("transitionStatus on " + hotTickets + " hot tickets (" + conflicts.get() + " conflicts)",
+                THREADS * cyclesPerThread, elapsed);
+    }
+
+    private void report(String name, int operations, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("[contention] %s: %d ops in %.3f s (%.0f ops/s, %d threads)%n",
+                name, operations, seconds, operations / seconds, THREADS);
+    }
+}
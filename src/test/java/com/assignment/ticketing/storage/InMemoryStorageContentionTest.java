@@ -0,0 +1,70 @@
+package com.assignment.ticketing.storage;
+
+import com.assignment.ticketing.exception.TicketVersionConflictException;
+import com.assignment.ticketing.model.domain.Comment;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.CommentVisibility;
+import com.assignment.ticketing.model.enums.TicketStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Contention tests for the compare-and-set write path: every thread hammers the same ticket,
+ * and the assertions check that no update is lost. See InMemoryStorageBenchmarkTest for throughput.
+ */
+public class InMemoryStorageContentionTest {
+
+    private static final int THREADS = 8;
+
+    private InMemoryStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new InMemoryStorage();
+    }
+
+    @Test
+    void transitionStatus_shouldLetExactlyOneConcurrentTransitionWin() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            Ticket ticket = new Ticket();
+            ticket.setStatus(TicketStatus.OPEN);
+            Long id = storage.save(ticket).getTicketId();
+
+            AtomicInteger winners = new AtomicInteger();
+            AtomicInteger conflicts = new AtomicInteger();
+            ConcurrentRunner.run(THREADS, 1, () -> {
+                try {
+                    storage.transitionStatus(id, TicketStatus.OPEN, TicketStatus.IN_PROGRESS);
+                    winners.incrementAndGet();
+                } catch (TicketVersionConflictException e) {
+                    conflicts.incrementAndGet();
+                }
+            });
+
+            assertEquals(1, winners.get());
+            assertEquals(THREADS - 1, conflicts.get());
+            assertEquals(2, storage.findById(id).orElseThrow().getVersion());
+        }
+    }
+
+    @Test
+    void addComment_shouldNotLoseUpdatesUnderContention() throws Exception {
+        int commentsPerThread = 1_000;
+        Ticket ticket = new Ticket();
+        ticket.setStatus(TicketStatus.OPEN);
+        Long id = storage.save(ticket).getTicketId();
+
+        ConcurrentRunner.run(THREADS, commentsPerThread, () -> {
+            storage.addComment(id, new Comment(null, null, "agent-01", "ping", CommentVisibility.INTERNAL, null));
+        });
+
+        Ticket stored = storage.findById(id).orElseThrow();
+        assertEquals(THREADS * commentsPerThread, stored.getComments().size());
+        assertEquals(1 + THREADS * commentsPerThread, stored.getVersion());
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.assignment.ticketing.storage;
+
+import com.assignment.ticketing.model.domain.Comment;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.CommentVisibility;
+import com.assignment.ticketing.model.enums.TicketSortField;
+import com.assignment.ticketing.model.enums.TicketStatus;
+import com.assignment.ticketing.repository.TicketQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryStorageQueryTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 5, 1, 0, 0);
+
+    private InMemoryStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new InMemoryStorage();
+        // Imported so that creation times are known: ticket i is created at hour i, in shuffled order.
+        List<Ticket> tickets = new ArrayList<>();
+        for (long i : new long[] {4, 1, 5, 2, 6, 3}) {
+            Ticket ticket = new Ticket();
+            ticket.setTicketId(i);
+            ticket.setStatus(i % 2 == 0 ? TicketStatus.RESOLVED : TicketStatus.OPEN);
+            ticket.setCreatedAt(DAY.plusHours(i));
+            tickets.add(ticket);
+        }
+        storage.saveAll(tickets, 0);
+    }
+
+    @Test
+    void findByQuery_shouldListOldestOpenTicketsFirst() {
+        assertEquals(List.of(1L, 3L), ids(storage.findByQuery(
+                new TicketQuery("OPEN", null, null, null, null, null, TicketSortField.CREATED_AT, false, 2))));
+        assertEquals(List.of(6L, 5L, 4L), ids(storage.findByQuery(
+                new TicketQuery(null, null, null, null, null, null, TicketSortField.CREATED_AT, true, 3))));
+    }
+
+    @Test
+    void findByQuery_shouldApplyExclusiveCreationBounds() {
+        assertEquals(List.of(3L, 4L), ids(storage.findByQuery(
+                new TicketQuery(null, null, null, DAY.plusHours(2), DAY.plusHours(5), null, null, false, null))));
+        assertEquals(List.of(), ids(storage.findByQuery(
+                new TicketQuery(null, null, null, DAY.plusHours(5), DAY.plusHours(2), null, null, false, null))));
+    }
+
+    @Test
+    void findByQuery_shouldMoveUpdatedTicketsWithoutDuplicates() {
+        LocalDateTime before = LocalDateTime.now();
+        storage.addComment(2L, new Comment(null, null, "agent-01", "ping", CommentVisibility.PUBLIC, null));
+
+        List<Ticket> recent = storage.findByQuery(
+                new TicketQuery(null, null, null, null, null, before, TicketSortField.UPDATED_AT, true, null));
+        assertEquals(List.of(2L), ids(recent));
+        assertEquals(6, storage.findByQuery(
+                new TicketQuery(null, null, null, null, null, null, TicketSortField.UPDATED_AT, false, null)).size());
+    }
+
+    @Test
+    void save_shouldStoreACopyWithoutTouchingTheArgument() {
+        Ticket stored = storage.findById(1L).orElseThrow();
+        LocalDateTime updatedAt = stored.getUpdatedAt();
+
+        Ticket saved = storage.save(stored);
+
+        assertNotSame(stored, saved);
+        assertSame(saved, storage.findById(1L).orElseThrow());
+        assertEquals(1, stored.getVersion());
+        assertEquals(updatedAt, stored.getUpdatedAt());
+        assertEquals(2, saved.getVersion());
+        assertEquals(List.of(1L), ids(storage.findByQuery(
+                new TicketQuery(null, null, null, null, null, saved.getUpdatedAt(), TicketSortField.UPDATED_AT, false, null))));
+    }
+
+    @Test
+    void findByQuery_shouldListEveryTicketOnceDuringConcurrentUpdates() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            writers.add(executor.submit(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    storage.addComment(1L + i % 6, new Comment(null, null, "agent-01", "ping", CommentVisibility.PUBLIC, null));
+                }
+            }));
+        }
+        TicketQuery descending = new TicketQuery(null, null, null, null, null, null, TicketSortField.UPDATED_AT, true, null);
+        TicketQuery ascending = new TicketQuery(null, null, null, null, null, null, TicketSortField.UPDATED_AT, false, null);
+        Set<Long> all = Set.of(1L, 2L, 3L, 4L, 5L, 6L);
+        while (!writers.stream().allMatch(Future::isDone)) {
+            for (TicketQuery query : List.of(descending, ascending)) {
+                List<Long> ids = ids(storage.findByQuery(query));
+                assertEquals(ids.size(), new HashSet<>(ids).size(), "duplicate ticket in " + ids);
+                assertEquals(all, new HashSet<>(ids), "missing ticket in " + ids);
+            }
+        }
+        for (Future<?> writer : writers) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertEquals(6, storage.findByQuery(descending).size());
+        assertEquals(6, storage.findByQuery(ascending).size());
+    }
+
+    private static List<Long> ids(List<Ticket> tickets) {
+        return tickets.stream().map(Ticket::getTicketId).toList();
+    }
+}
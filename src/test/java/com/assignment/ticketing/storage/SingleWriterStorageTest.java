@@ -0,0 +1,142 @@
+package com.assignment.ticketing.storage;
+
+import com.assignment.ticketing.exception.TicketVersionConflictException;
+import com.assignment.ticketing.model.domain.Comment;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.CommentVisibility;
+import com.assignment.ticketing.model.enums.TicketStatus;
+import com.assignment.ticketing.repository.TicketChangeListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleWriterStorageTest {
+
+    private static final int THREADS = 8;
+
+    private final List<Ticket> notified = new CopyOnWriteArrayList<>();
+    private SingleWriterStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new SingleWriterStorage(1024, 64, List.<TicketChangeListener>of(notified::add));
+        storage.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        storage.stop();
+    }
+
+    @Test
+    void addComment_shouldApplyConcurrentWritesInOrder() throws Exception {
+        int commentsPerThread = 1_000;
+        Long id = storage.save(openTicket()).getTicketId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < commentsPerThread; i++) {
+                    storage.addComment(id, new Comment(null, null, "agent-01", "ping", CommentVisibility.INTERNAL, null));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Ticket stored = storage.findById(id).orElseThrow();
+        assertEquals(THREADS * commentsPerThread, stored.getComments().size());
+        assertEquals(1 + THREADS * commentsPerThread, stored.getVersion());
+        for (int i = 0; i < stored.getComments().size(); i++) {
+            assertEquals(i + 1, stored.getComments().get(i).getCommentId());
+        }
+
+        Map<Long, Long> lastVersions = new ConcurrentHashMap<>();
+        for (Ticket ticket : notified) {
+            Long previous = lastVersions.put(ticket.getTicketId(), ticket.getVersion());
+            assertEquals(previous == null ? 1 : previous + 1, ticket.getVersion());
+        }
+    }
+
+    @Test
+    void transitionStatus_shouldRethrowConflictsToTheCaller() {
+        Long id = storage.save(openTicket()).getTicketId();
+
+        assertEquals(TicketStatus.IN_PROGRESS,
+                storage.transitionStatus(id, TicketStatus.OPEN, TicketStatus.IN_PROGRESS, 1L).orElseThrow().getStatus());
+        assertThrows(TicketVersionConflictException.class,
+                () -> storage.transitionStatus(id, TicketStatus.OPEN, TicketStatus.IN_PROGRESS, 1L));
+        assertTrue(storage.transitionStatus(99L, TicketStatus.OPEN, TicketStatus.IN_PROGRESS).isEmpty());
+        assertEquals(2, storage.findById(id).orElseThrow().getVersion());
+    }
+
+    @Test
+    void saveAll_shouldAdvanceIdGenerators() {
+        Ticket imported = openTicket();
+        imported.setTicketId(41L);
+        imported.getComments().add(new Comment(500L, null, "agent-01", "old", CommentVisibility.PUBLIC, null));
+
+        storage.saveAll(List.of(imported), 0);
+
+        assertEquals(42L, storage.save(openTicket()).getTicketId());
+        assertEquals(501L, storage.addComment(41L,
+                new Comment(null, null, "agent-01", "new", CommentVisibility.PUBLIC, null)).orElseThrow().getComments().getLast().getCommentId());
+        assertEquals(3, storage.findById(41L).orElseThrow().getVersion() + storage.findById(42L).orElseThrow().getVersion());
+    }
+
+    @Test
+    void stop_shouldRejectNewWrites() throws InterruptedException {
+        storage.save(openTicket());
+        storage.stop();
+
+        assertThrows(IllegalStateException.class, () -> storage.save(openTicket()));
+        assertEquals(1, storage.findByFilter(null, null, null).size());
+    }
+
+    @Test
+    void stop_shouldNeverLeaveConcurrentWritersWaiting() throws Exception {
+        SingleWriterStorage small = new SingleWriterStorage(1, 1, List.of());
+        small.start();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                while (true) {
+                    try {
+                        small.save(openTicket());
+                    } catch (IllegalStateException e) {
+                        return;
+                    }
+                }
+            }));
+        }
+        Thread.sleep(50);
+        small.stop();
+
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    private static Ticket openTicket() {
+        Ticket ticket = new Ticket();
+        ticket.setStatus(TicketStatus.OPEN);
+        return ticket;
+    }
+}
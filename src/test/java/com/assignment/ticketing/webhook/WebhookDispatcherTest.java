@@ -0,0 +1,303 @@
+package com.assignment.ticketing.webhook;
+
+import com.assignment.ticketing.config.WebhookConfig;
+import com.assignment.ticketing.model.domain.Ticket;
+import com.assignment.ticketing.model.enums.TicketStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/*
+ * Runs the dispatcher against a stub receiver on a local port.
+ */
+public class WebhookDispatcherTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<JsonNode> batches = new CopyOnWriteArrayList<>();
+    private final List<String> attempts = new CopyOnWriteArrayList<>();
+    private HttpServer receiver;
+    private IntSupplier responseStatus = () -> 204;
+    private SimpleMeterRegistry meterRegistry;
+    private WebhookConfig webhookConfig;
+    private WebhookDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        receiver = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        receiver.createContext("/hook", exchange -> {
+            batches.add(objectMapper.readTree(exchange.getRequestBody()));
+            attempts.add(exchange.getRequestHeaders().getFirst("X-Webhook-Attempt"));
+            exchange.sendResponseHeaders(responseStatus.getAsInt(), -1);
+            exchange.close();
+        });
+        receiver.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        webhookConfig = mock(WebhookConfig.class);
+        when(webhookConfig.getEndpoints()).thenReturn(List.of("http://localhost:" + receiver.getAddress().getPort() + "/hook"));
+        when(webhookConfig.getQueueCapacity()).thenReturn(1000);
+        when(webhookConfig.getBatchSize()).thenReturn(10);
+        when(webhookConfig.getMaxDelay()).thenReturn(Duration.ofMillis(50));
+        when(webhookConfig.getMaxPending()).thenReturn(1000);
+        when(webhookConfig.getMaxAttempts()).thenReturn(3);
+        when(webhookConfig.getInitialBackoff()).thenReturn(Duration.ofMillis(10));
+        when(webhookConfig.getMaxBackoff()).thenReturn(Duration.ofMillis(40));
+        when(webhookConfig.getRequestTimeout()).thenReturn(Duration.ofSeconds(5));
+        when(webhookConfig.getDeadLetterFile()).thenReturn(directory.resolve("dead-letter.ndjson").toString());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+        receiver.stop(0);
+    }
+
+    @Test
+    void publish_shouldDeliverEventsInOrderInBatches() throws Exception {
+        start();
+        for (long id = 1; id <= 25; id++) {
+            dispatcher.publish(TicketEvent.created(ticket(id)));
+        }
+
+        waitUntil(() -> eventCount() == 25);
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode batch : batches) {
+            assertTrue(batch.size() <= 10);
+            batch.forEach(event -> ids.add(event.get("ticketId").asLong()));
+        }
+        assertEquals(25, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i + 1, ids.get(i));
+        }
+        assertEquals("TICKET_CREATED", batches.get(0).get(0).get("type").asText());
+    }
+
+    @Test
+    void publish_shouldRetryFailedBatchesWithBackoff() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        responseStatus = () -> calls.incrementAndGet() <= 2 ? 503 : 200;
+        start();
+
+        dispatcher.publish(TicketEvent.statusChanged(ticket(7L), TicketStatus.OPEN));
+
+        waitUntil(() -> count("delivered") == 1);
+        assertEquals(List.of("1", "2", "3"), attempts);
+        assertEquals(2, count("retried"));
+        assertEquals(batches.get(0), batches.get(2));
+    }
+
+    @Test
+    void publish_shouldDeadLetterBatchesThatCannotBeDelivered() throws Exception {
+        responseStatus = () -> 500;
+        start();
+
+        dispatcher.publish(TicketEvent.created(ticket(1L)));
+        dispatcher.publish(TicketEvent.created(ticket(2L)));
+
+        waitUntil(() -> count("dead-lettered") >= 1);
+        Path deadLetters = directory.resolve("dead-letter.ndjson");
+        JsonNode letter = objectMapper.readTree(Files.readAllLines(deadLetters).get(0));
+        assertEquals(3, letter.get("attempts").asInt());
+        assertEquals("HTTP 500", letter.get("reason").asText());
+        assertEquals(1L, letter.get("events").get(0).get("ticketId").asLong());
+        assertEquals(0, count("delivered"));
+    }
+
+    @Test
+    void publish_shouldDeadLetterEventsBeyondMaxPending() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        responseStatus = () -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 204;
+        };
+        when(webhookConfig.getBatchSize()).thenReturn(2);
+        when(webhookConfig.getMaxPending()).thenReturn(2);
+        start();
+        try {
+            dispatcher.publish(TicketEvent.created(ticket(1L)));
+            waitUntil(() -> batches.size() == 1);
+            for (long id = 2; id <= 11; id++) {
+                dispatcher.publish(TicketEvent.created(ticket(id)));
+            }
+
+            // Events 2 and 3 wait for the batch in flight; the others overflow.
+            Path deadLetters = directory.resolve("dead-letter.ndjson");
+            List<Long> spilled = new ArrayList<>();
+            waitUntil(() -> {
+                spilled.clear();
+                try {
+                    for (String line : Files.exists(deadLetters) ? Files.readAllLines(deadLetters) : List.<String>of()) {
+                        objectMapper.readTree(line).get("events").forEach(event -> spilled.add(event.get("ticketId").asLong()));
+                    }
+                } catch (IOException e) {
+                    return false; // a letter being written
+                }
+                return spilled.size() == 8;
+            });
+            assertEquals(List.of(4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L), spilled);
+        } finally {
+            release.countDown();
+        }
+        waitUntil(() -> eventCount() == 3);
+    }
+
+    @Test
+    void stop_shouldWaitForTheBatchInFlight() throws Exception {
+        CountDownLatch received = new CountDownLatch(1);
+        responseStatus = () -> {
+            received.countDown();
+            sleep(200);
+            return 204;
+        };
+        start();
+        dispatcher.publish(TicketEvent.created(ticket(1L)));
+        assertTrue(received.await(10, TimeUnit.SECONDS));
+
+        dispatcher.stop();
+
+        assertEquals(1, count("delivered"));
+        assertEquals(0, count("dead-lettered"));
+        assertFalse(Files.exists(directory.resolve("dead-letter.ndjson")));
+    }
+
+    @Test
+    void stop_shouldDeadLetterBatchesStillUnacknowledgedAfterTheRequestTimeout() throws Exception {
+        CountDownLatch received = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        responseStatus = () -> {
+            received.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 204;
+        };
+        when(webhookConfig.getRequestTimeout()).thenReturn(Duration.ofMillis(300));
+        start();
+        try {
+            dispatcher.publish(TicketEvent.created(ticket(1L)));
+            assertTrue(received.await(10, TimeUnit.SECONDS));
+            dispatcher.publish(TicketEvent.created(ticket(2L)));
+
+            dispatcher.stop();
+
+            List<String> lines = Files.readAllLines(directory.resolve("dead-letter.ndjson"));
+            assertEquals(2, lines.size());
+            JsonNode pending = objectMapper.readTree(lines.get(0));
+            assertEquals("Shut down before delivery", pending.get("reason").asText());
+            assertEquals(2L, pending.get("events").get(0).get("ticketId").asLong());
+            // Written by stop() or by the request timing out, whichever comes first, but only once.
+            JsonNode inFlight = objectMapper.readTree(lines.get(1));
+            assertEquals(1L, inFlight.get("events").get(0).get("ticketId").asLong());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void stop_shouldDeadLetterBatchesWaitingForARetry() throws Exception {
+        responseStatus = () -> 503;
+        when(webhookConfig.getInitialBackoff()).thenReturn(Duration.ofMinutes(1));
+        when(webhookConfig.getMaxBackoff()).thenReturn(Duration.ofMinutes(1));
+        start();
+        dispatcher.publish(TicketEvent.created(ticket(1L)));
+        waitUntil(() -> count("retried") == 1);
+
+        long begin = System.nanoTime();
+        dispatcher.stop();
+
+        assertTrue(System.nanoTime() - begin < TimeUnit.SECONDS.toNanos(5), "no request is open, nothing to wait for");
+        List<String> lines = Files.readAllLines(directory.resolve("dead-letter.ndjson"));
+        assertEquals(1, lines.size());
+        JsonNode letter = objectMapper.readTree(lines.get(0));
+        assertEquals("Shut down before acknowledgement", letter.get("reason").asText());
+        assertEquals(1, letter.get("attempts").asInt());
+        assertEquals(1L, letter.get("events").get(0).get("ticketId").asLong());
+    }
+
+    @Test
+    void publish_shouldDropInsteadOfBlockingWhenTheQueueIsFull() throws Exception {
+        when(webhookConfig.getQueueCapacity()).thenReturn(1);
+        dispatcher = new WebhookDispatcher(webhookConfig, objectMapper, meterRegistry);
+        dispatcher.publish(TicketEvent.created(ticket(1L)));
+        assertTrue(batches.isEmpty(), "events are ignored until the dispatcher runs");
+
+        start();
+        long begin = System.nanoTime();
+        for (long id = 1; id <= 10_000; id++) {
+            dispatcher.publish(TicketEvent.created(ticket(id)));
+        }
+        assertTrue(System.nanoTime() - begin < TimeUnit.SECONDS.toNanos(5));
+        double dropped = meterRegistry.get("ticketing.webhooks.events").tag("outcome", "dropped").counter().count();
+        waitUntil(() -> eventCount() == 10_000 - dropped);
+    }
+
+    private void start() {
+        dispatcher = new WebhookDispatcher(webhookConfig, objectMapper, meterRegistry);
+        dispatcher.start();
+    }
+
+    private int eventCount() {
+        return batches.stream().mapToInt(JsonNode::size).sum();
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("ticketing.webhooks.batches").tag("outcome", outcome).counter().count();
+    }
+
+    private static Ticket ticket(long id) {
+        Ticket ticket = new Ticket();
+        ticket.setTicketId(id);
+        ticket.setStatus(TicketStatus.OPEN);
+        ticket.setVersion(1);
+        return ticket;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}